@@ -0,0 +1,101 @@
+package com.hideseek.main;
+
+import com.hideseek.model.DB;
+import com.hideseek.model.MySqlUserRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+/**
+ * Benchmark latensi round-trip database (dijalankan manual, butuh server MySQL yang aktif).
+ *
+ * Membandingkan tiga cara mengambil data satu pemain:
+ * 1. Statement biasa dengan SQL hasil penggabungan string (cara lama, di-parse ulang setiap kali).
+ * 2. PreparedStatement baru setiap panggilan (prepare + close setiap kali).
+ * 3. MySqlUserRepository (PreparedStatement dari cache per koneksi).
+ *
+ * Contoh: java -cp out:lib/* com.hideseek.main.DbBenchmark 5000 benchmark_user
+ */
+public class DbBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        String username = args.length > 1 ? args[1] : "benchmark_user";
+
+        MySqlUserRepository repo = new MySqlUserRepository();
+        repo.registerUser(username);
+
+        // Pemanasan: koneksi kolam & JIT sudah siap sebelum diukur
+        int warmup = Math.min(200, iterations);
+        runConcatenated(username, warmup);
+        runUncachedPrepared(username, warmup);
+        runRepository(repo, username, warmup);
+
+        report("Statement + string concat", runConcatenated(username, iterations));
+        report("PreparedStatement tanpa cache", runUncachedPrepared(username, iterations));
+        report("MySqlUserRepository (cache)", runRepository(repo, username, iterations));
+
+        System.out.printf("Cache statement: %d hit, %d miss%n",
+                DB.getPool().getStatementCacheHits(), DB.getPool().getStatementCacheMisses());
+        DB.shutdownPool();
+    }
+
+    private static long[] runConcatenated(String username, int iterations) throws Exception {
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            DB db = new DB();
+            try {
+                ResultSet rs = db.createQuery("SELECT skor, peluru_meleset, sisa_peluru FROM tbenefit "
+                        + "WHERE username = '" + username + "'");
+                rs.next();
+                rs.close();
+            } finally {
+                db.closeConnection();
+            }
+            samples[i] = System.nanoTime() - start;
+        }
+        return samples;
+    }
+
+    private static long[] runUncachedPrepared(String username, int iterations) throws Exception {
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            DB db = new DB();
+            try (PreparedStatement ps = db.getConnection().prepareStatement(
+                    "SELECT skor, peluru_meleset, sisa_peluru FROM tbenefit WHERE username = ?")) {
+                ps.setString(1, username);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                }
+            } finally {
+                db.closeConnection();
+            }
+            samples[i] = System.nanoTime() - start;
+        }
+        return samples;
+    }
+
+    private static long[] runRepository(MySqlUserRepository repo, String username, int iterations) {
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            repo.getUserByUsername(username);
+            samples[i] = System.nanoTime() - start;
+        }
+        return samples;
+    }
+
+    private static void report(String label, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double total = 0;
+        for (long s : sorted) total += s;
+        System.out.printf("%-32s rata-rata %7.1f us | p50 %7.1f us | p99 %7.1f us%n", label,
+                total / sorted.length / 1000.0,
+                sorted[sorted.length / 2] / 1000.0,
+                sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1000.0);
+    }
+}
@@ -9,6 +9,15 @@ import java.awt.Image;
  */
 public class Alien extends GameElement {
 
+    // Kecepatan maju alien (piksel per tick)
+    public static final int SPEED = 3;
+
+    // Penanda alien sudah tertembak (tidak boleh ditembak/dihitung dua kali)
+    private boolean destroyed = false;
+
+    // Indeks alien ini di AlienStore (diperbarui oleh store saat add/swap-remove), -1 jika tidak tersimpan
+    int storeIndex = -1;
+
     public Alien(int x, int y, int width, int height, Image image) {
         super(x, y, width, height, image);
     }
@@ -18,7 +27,25 @@ public class Alien extends GameElement {
      * Saat ini polanya sederhana: terus bergerak maju (ke arah atas layar).
      */
     public void move() {
-        this.y -= 3;
+        this.y -= SPEED;
+    }
+
+    /**
+     * Dipanggil saat alien tertembak peluru Player.
+     */
+    public void destroy() {
+        this.destroyed = true;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Indeks alien ini di AlienStore saat ini, agar bisa dihapus lewat removeAt tanpa pencarian.
+     */
+    public int getStoreIndex() {
+        return storeIndex;
     }
 
     /**
@@ -27,9 +54,10 @@ public class Alien extends GameElement {
      * lalu menembakkan peluru yang mengarah tepat ke posisi pemain saat itu.
      *
      * @param target Objek yang ingin ditembak adalah Player.
+     * @param pool Kolam peluru tempat mengambil objek Bullet.
      * @return Objek Bullet musuh.
      */
-    public Bullet shootAt(GameElement target) {
+    public Bullet shootAt(GameElement target, BulletPool pool) {
         // Titik asal (tengah alien)
         double startX = this.x + 20;
         double startY = this.y + 20;
@@ -48,7 +76,7 @@ public class Alien extends GameElement {
         double velX = bulletSpeed * Math.cos(angle);
         double velY = bulletSpeed * Math.sin(angle);
 
-        // Buat peluru dengan flag isEnemy = true
-        return new Bullet((int)startX, (int)startY, 10, 20, null, true, velX, velY);
+        // Ambil peluru dari kolam dengan flag isEnemy = true
+        return pool.acquire((int)startX, (int)startY, 10, 20, true, velX, velY);
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.hideseek.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Penyimpanan Alien standar: sebuah ArrayList berisi objek Alien.
+ */
+public class AlienList implements AlienStore {
+
+    private final ArrayList<Alien> aliens = new ArrayList<>();
+    private final List<Alien> readOnlyView = Collections.unmodifiableList(aliens);
+
+    @Override
+    public int size() { return aliens.size(); }
+
+    @Override
+    public void add(Alien alien) {
+        alien.storeIndex = aliens.size();
+        aliens.add(alien);
+    }
+
+    @Override
+    public void moveRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Alien alien = aliens.get(i);
+            alien.savePreviousPosition();
+            alien.move();
+        }
+    }
+
+    @Override public int getX(int index) { return aliens.get(index).getX(); }
+    @Override public int getY(int index) { return aliens.get(index).getY(); }
+    @Override public int getWidth(int index) { return aliens.get(index).getWidth(); }
+    @Override public int getHeight(int index) { return aliens.get(index).getHeight(); }
+    @Override public void setY(int index, int y) { aliens.get(index).setY(y); }
+    @Override public int getPrevX(int index) { return aliens.get(index).getPrevX(); }
+    @Override public int getPrevY(int index) { return aliens.get(index).getPrevY(); }
+
+    @Override
+    public Alien get(int index) { return aliens.get(index); }
+
+    @Override
+    public Alien removeAt(int index) {
+        Alien removed = aliens.get(index);
+        Alien last = aliens.remove(aliens.size() - 1);
+        if (index < aliens.size()) {
+            aliens.set(index, last);
+            last.storeIndex = index;
+        }
+        removed.storeIndex = -1;
+        return removed;
+    }
+
+    @Override
+    public List<Alien> asList() { return readOnlyView; }
+}
@@ -0,0 +1,62 @@
+package com.hideseek.model;
+
+import java.util.List;
+
+/**
+ * Kontrak Penyimpanan Alien.
+ *
+ * Sama seperti {@link BulletStore}: ViewModel bekerja lewat indeks sehingga implementasinya
+ * bisa berupa daftar objek biasa ({@link AlienList}) atau array primitif paralel
+ * ({@link PackedAlienStore}). Penghapusan memakai swap-remove di kedua implementasi.
+ */
+public interface AlienStore {
+
+    int size();
+
+    void add(Alien alien);
+
+    /**
+     * Menggerakkan seluruh alien satu tick (posisi lama dicatat untuk interpolasi).
+     */
+    default void moveAll() {
+        moveRange(0, size());
+    }
+
+    /**
+     * Menggerakkan alien pada rentang indeks [from, to) saja.
+     * Rentang yang berbeda boleh digerakkan bersamaan dari beberapa thread.
+     */
+    void moveRange(int from, int to);
+
+    int getX(int index);
+    int getY(int index);
+    int getWidth(int index);
+    int getHeight(int index);
+
+    /**
+     * Mengembalikan alien ke posisi vertikal tertentu (misal: setelah menabrak batu).
+     */
+    void setY(int index, int y);
+
+    /**
+     * Posisi alien pada tick sebelumnya.
+     */
+    int getPrevX(int index);
+    int getPrevY(int index);
+
+    /**
+     * Mengambil objek Alien pada indeks tertentu dengan data yang sudah mutakhir.
+     */
+    Alien get(int index);
+
+    /**
+     * Menghapus alien pada indeks tertentu (swap-remove).
+     * Indeks setiap alien tersimpan selalu bisa dibaca lewat {@link Alien#getStoreIndex()}.
+     */
+    Alien removeAt(int index);
+
+    /**
+     * Tampilan List (hanya-baca) untuk keperluan rendering oleh View.
+     */
+    List<Alien> asList();
+}
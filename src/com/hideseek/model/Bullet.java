@@ -32,6 +32,23 @@ public class Bullet extends GameElement {
         this.preciseY = y;
     }
 
+    /**
+     * Mengisi ulang peluru bekas agar bisa ditembakkan kembali (dipakai oleh BulletPool).
+     */
+    void reset(int x, int y, int width, int height, boolean isEnemyBullet, double velocityX, double velocityY) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+        this.width = width;
+        this.height = height;
+        this.isEnemyBullet = isEnemyBullet;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.preciseX = x;
+        this.preciseY = y;
+    }
+
     /**
      * Memperbarui posisi peluru setiap frame.
      * Menambahkan kecepatan ke posisi presisi, lalu mengonversinya
@@ -45,7 +62,26 @@ public class Bullet extends GameElement {
         this.y = (int) preciseY;
     }
 
+    /**
+     * Menyalin status dari penyimpanan SoA (PackedBulletStore) ke objek pegangan ini.
+     */
+    void syncState(int x, int y, int prevX, int prevY, double preciseX, double preciseY) {
+        this.x = x;
+        this.y = y;
+        this.prevX = prevX;
+        this.prevY = prevY;
+        this.preciseX = preciseX;
+        this.preciseY = preciseY;
+    }
+
     public boolean isEnemyBullet() {
         return isEnemyBullet;
     }
+
+    public double getVelocityX() { return velocityX; }
+    public double getVelocityY() { return velocityY; }
+
+    // Koordinat presisi hanya dibutuhkan oleh penyimpanan di package model
+    double getPreciseX() { return preciseX; }
+    double getPreciseY() { return preciseY; }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.hideseek.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Penyimpanan Peluru standar: sebuah ArrayList berisi objek Bullet.
+ * Setiap peluru menggerakkan dirinya sendiri (Bullet.move()).
+ */
+public class BulletList implements BulletStore {
+
+    private final ArrayList<Bullet> bullets = new ArrayList<>();
+    private final List<Bullet> readOnlyView = Collections.unmodifiableList(bullets);
+
+    @Override
+    public int size() { return bullets.size(); }
+
+    @Override
+    public void add(Bullet bullet) { bullets.add(bullet); }
+
+    @Override
+    public void moveRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Bullet bullet = bullets.get(i);
+            bullet.savePreviousPosition();
+            bullet.move();
+        }
+    }
+
+    @Override public int getX(int index) { return bullets.get(index).getX(); }
+    @Override public int getY(int index) { return bullets.get(index).getY(); }
+    @Override public int getWidth(int index) { return bullets.get(index).getWidth(); }
+    @Override public int getHeight(int index) { return bullets.get(index).getHeight(); }
+    @Override public boolean isEnemyBullet(int index) { return bullets.get(index).isEnemyBullet(); }
+    @Override public int getPrevX(int index) { return bullets.get(index).getPrevX(); }
+    @Override public int getPrevY(int index) { return bullets.get(index).getPrevY(); }
+
+    @Override
+    public Bullet get(int index) { return bullets.get(index); }
+
+    @Override
+    public Bullet removeAt(int index) {
+        Bullet removed = bullets.get(index);
+        Bullet last = bullets.remove(bullets.size() - 1);
+        if (index < bullets.size()) {
+            bullets.set(index, last);
+        }
+        return removed;
+    }
+
+    @Override
+    public List<Bullet> asList() { return readOnlyView; }
+}
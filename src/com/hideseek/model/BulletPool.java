@@ -0,0 +1,69 @@
+package com.hideseek.model;
+
+/**
+ * Kolam Objek (Object Pool) untuk Peluru.
+ *
+ * Setiap tembakan dulu selalu membuat objek Bullet baru, dan setiap peluru yang mati
+ * langsung menjadi sampah (garbage). Pada sesi yang ramai tembakan, hal ini memicu
+ * Garbage Collector terus-menerus dan menyebabkan frame tersendat.
+ *
+ * Kelas ini menyimpan peluru bekas agar bisa dipakai ulang:
+ * - acquire(): ambil peluru dari kolam (hit) atau buat baru jika kolam kosong (miss).
+ * - release(): kembalikan peluru yang sudah mati ke kolam (dibuang jika kolam penuh).
+ *
+ * Kolam ini hanya dipakai dari thread Game Loop (input tembak masuk lewat InputQueue),
+ * sehingga tidak memerlukan sinkronisasi.
+ */
+public class BulletPool {
+
+    private final Bullet[] free;
+    private int freeCount = 0;
+
+    // Statistik untuk menentukan ukuran kolam yang pas
+    private long hits = 0;
+    private long misses = 0;
+    private long discarded = 0;
+
+    /**
+     * @param capacity Jumlah maksimum peluru bekas yang disimpan.
+     */
+    public BulletPool(int capacity) {
+        this.free = new Bullet[capacity];
+    }
+
+    /**
+     * Mengambil peluru siap pakai dengan posisi dan kecepatan yang ditentukan.
+     */
+    public Bullet acquire(int x, int y, int width, int height,
+                          boolean isEnemyBullet, double velocityX, double velocityY) {
+        if (freeCount > 0) {
+            Bullet bullet = free[--freeCount];
+            free[freeCount] = null;
+            bullet.reset(x, y, width, height, isEnemyBullet, velocityX, velocityY);
+            hits++;
+            return bullet;
+        }
+        misses++;
+        return new Bullet(x, y, width, height, null, isEnemyBullet, velocityX, velocityY);
+    }
+
+    /**
+     * Mengembalikan peluru yang sudah tidak dipakai.
+     * Peluru tidak boleh lagi disimpan di daftar mana pun setelah dikembalikan.
+     */
+    public void release(Bullet bullet) {
+        if (freeCount < free.length) {
+            free[freeCount++] = bullet;
+        } else {
+            discarded++;
+        }
+    }
+
+    // --- Statistik Kolam ---
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getDiscarded() { return discarded; }
+    public int getFreeCount() { return freeCount; }
+    public int getCapacity() { return free.length; }
+}
@@ -0,0 +1,64 @@
+package com.hideseek.model;
+
+import java.util.List;
+
+/**
+ * Kontrak Penyimpanan Peluru.
+ *
+ * ViewModel mengakses peluru lewat indeks (bukan Iterator), sehingga cara penyimpanannya
+ * bisa ditukar tanpa mengubah logika permainan:
+ * - {@link BulletList}: daftar objek Bullet biasa (default).
+ * - {@link PackedBulletStore}: array primitif paralel (Structure of Arrays) untuk mode stress.
+ *
+ * Penghapusan memakai "swap-remove" (elemen terakhir dipindah ke slot yang dihapus),
+ * jadi urutan peluru bisa berubah, tetapi biayanya O(1) dan sama persis di kedua implementasi.
+ */
+public interface BulletStore {
+
+    int size();
+
+    /**
+     * Menambahkan peluru baru ke penyimpanan.
+     */
+    void add(Bullet bullet);
+
+    /**
+     * Menggerakkan seluruh peluru satu tick (posisi lama dicatat untuk interpolasi).
+     */
+    default void moveAll() {
+        moveRange(0, size());
+    }
+
+    /**
+     * Menggerakkan peluru pada rentang indeks [from, to) saja.
+     * Rentang yang berbeda boleh digerakkan bersamaan dari beberapa thread.
+     */
+    void moveRange(int from, int to);
+
+    int getX(int index);
+    int getY(int index);
+    int getWidth(int index);
+    int getHeight(int index);
+    boolean isEnemyBullet(int index);
+
+    // Posisi pada tick sebelumnya (untuk interpolasi render)
+    int getPrevX(int index);
+    int getPrevY(int index);
+
+    /**
+     * Mengambil objek Bullet pada indeks tertentu dengan data yang sudah mutakhir.
+     */
+    Bullet get(int index);
+
+    /**
+     * Menghapus peluru pada indeks tertentu (swap-remove).
+     *
+     * @return Objek Bullet yang dihapus (agar bisa dikembalikan ke BulletPool).
+     */
+    Bullet removeAt(int index);
+
+    /**
+     * Tampilan List (hanya-baca) untuk keperluan rendering oleh View.
+     */
+    List<Bullet> asList();
+}
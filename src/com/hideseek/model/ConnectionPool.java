@@ -0,0 +1,322 @@
+package com.hideseek.model;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kolam Koneksi JDBC (Connection Pool) sederhana.
+ *
+ * Membuka koneksi MySQL baru berarti handshake TCP + autentikasi setiap kali.
+ * Kolam ini menyimpan koneksi yang sudah terbuka agar bisa dipinjam ulang:
+ * 1. Jumlah koneksi dibatasi (maxSize). Jika semua sedang dipakai, peminjam menunggu
+ *    maksimal borrowTimeout sebelum mendapat SQLException.
+ * 2. Koneksi divalidasi (Connection.isValid) setiap kali dipinjam dari kolam.
+ * 3. Koneksi yang menganggur lebih lama dari idleTimeout, atau sudah hidup lebih lama
+ *    dari maxLifetime, ditutup dan diganti yang baru.
+ * 4. Setiap koneksi fisik punya cache PreparedStatement (LRU, ukuran terbatas), sehingga
+ *    SQL yang sama tidak di-parse & direncanakan ulang oleh MySQL setiap kali dipakai.
+ *
+ * Metrik (waktu tunggu, jumlah aktif & menganggur, hit cache statement) tersedia lewat getter.
+ */
+public class ConnectionPool {
+
+    // Satu koneksi fisik beserta catatan umurnya dan cache statement-nya
+    private static class PooledConnection {
+        final Connection connection;
+        final long createdAt;
+        long lastUsedAt;
+        final Map<String, PreparedStatement> statements;
+
+        PooledConnection(Connection connection, long now, int statementCacheSize) {
+            this.connection = connection;
+            this.createdAt = now;
+            this.lastUsedAt = now;
+            // accessOrder = true: urutan iterasi = paling lama tidak dipakai lebih dulu (LRU)
+            this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > statementCacheSize) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private final String url;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final int transactionIsolation;
+    private final int statementCacheSize;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    // Koneksi menganggur (LIFO: yang terakhir dikembalikan paling "hangat")
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private final Map<Connection, PooledConnection> inUse = new IdentityHashMap<>();
+    private int totalCount = 0; // Termasuk koneksi yang sedang dibuat
+    private boolean closed = false;
+
+    // --- Metrik ---
+    private long borrowCount = 0;
+    private long createdCount = 0;
+    private long discardedCount = 0;
+    private long totalWaitNanos = 0;
+    private long maxWaitNanos = 0;
+    private long statementHits = 0;
+    private long statementMisses = 0;
+
+    /**
+     * @param url                  URL JDBC lengkap (termasuk kredensial).
+     * @param maxSize              Jumlah koneksi maksimal yang boleh terbuka.
+     * @param borrowTimeoutMillis  Batas waktu menunggu koneksi kosong.
+     * @param idleTimeoutMillis    Koneksi menganggur lebih lama dari ini akan ditutup.
+     * @param maxLifetimeMillis    Umur maksimal satu koneksi fisik.
+     * @param transactionIsolation Level isolasi yang dipasang sekali saat koneksi dibuat.
+     * @param statementCacheSize   Jumlah PreparedStatement yang disimpan per koneksi.
+     */
+    public ConnectionPool(String url, int maxSize, long borrowTimeoutMillis,
+                          long idleTimeoutMillis, long maxLifetimeMillis, int transactionIsolation,
+                          int statementCacheSize) {
+        this.url = url;
+        this.maxSize = Math.max(1, maxSize);
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.transactionIsolation = transactionIsolation;
+        this.statementCacheSize = Math.max(1, statementCacheSize);
+    }
+
+    /**
+     * Meminjam satu koneksi. Wajib dikembalikan lewat {@link #release(Connection)}.
+     *
+     * @throws SQLException Jika kolam sudah ditutup, waktu tunggu habis, atau koneksi baru gagal dibuka.
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + borrowTimeoutMillis * 1_000_000L;
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean create = false;
+
+            synchronized (this) {
+                while (candidate == null && !create) {
+                    if (closed) {
+                        throw new SQLException("Connection pool sudah ditutup");
+                    }
+                    candidate = pollIdle(System.currentTimeMillis());
+                    if (candidate == null) {
+                        if (totalCount < maxSize) {
+                            totalCount++; // Pesan slot dulu, koneksi dibuat di luar kunci
+                            create = true;
+                        } else {
+                            long remaining = deadline - System.nanoTime();
+                            if (remaining <= 0) {
+                                throw new SQLException("Tidak ada koneksi kosong setelah "
+                                        + borrowTimeoutMillis + " ms (maks " + maxSize + ")");
+                            }
+                            try {
+                                wait(Math.max(1, remaining / 1_000_000L));
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new SQLException("Menunggu koneksi terputus", e);
+                            }
+                        }
+                    }
+                }
+            }
+
+            if (create) {
+                candidate = open();
+            } else if (!isUsable(candidate)) {
+                discard(candidate); // Gagal validasi: coba koneksi berikutnya
+                continue;
+            }
+
+            synchronized (this) {
+                long waited = System.nanoTime() - start;
+                borrowCount++;
+                totalWaitNanos += waited;
+                maxWaitNanos = Math.max(maxWaitNanos, waited);
+                inUse.put(candidate.connection, candidate);
+            }
+            return candidate.connection;
+        }
+    }
+
+    /**
+     * Mengembalikan koneksi ke kolam. Koneksi yang rusak atau kedaluwarsa langsung ditutup.
+     */
+    public void release(Connection connection) {
+        if (connection == null) return;
+        PooledConnection pooled;
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            pooled = inUse.remove(connection);
+            if (pooled == null) return; // Bukan milik kolam ini (atau sudah dikembalikan)
+
+            boolean reusable = !closed && !isClosedQuietly(connection)
+                    && now - pooled.createdAt < maxLifetimeMillis;
+            if (reusable) {
+                pooled.lastUsedAt = now;
+                idle.addFirst(pooled);
+                notifyAll();
+                return;
+            }
+        }
+        discard(pooled);
+    }
+
+    /**
+     * Mengambil PreparedStatement untuk SQL tertentu dari cache milik koneksi yang sedang dipinjam
+     * (atau menyiapkannya jika belum ada). Statement hasilnya JANGAN ditutup oleh pemanggil;
+     * cukup tutup ResultSet-nya. Parameter lama tetap menempel, jadi set ulang semua parameter.
+     *
+     * @param connection Koneksi hasil {@link #borrow()} yang belum dikembalikan.
+     */
+    public PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PooledConnection pooled;
+        synchronized (this) {
+            pooled = inUse.get(connection);
+        }
+        if (pooled == null) {
+            throw new SQLException("Koneksi tidak sedang dipinjam dari kolam ini");
+        }
+
+        // Cache hanya disentuh oleh thread peminjam, jadi tidak perlu kunci
+        PreparedStatement statement = pooled.statements.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            pooled.statements.put(sql, statement);
+            synchronized (this) {
+                statementMisses++;
+            }
+        } else {
+            synchronized (this) {
+                statementHits++;
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * Menutup semua koneksi menganggur dan menolak peminjaman baru.
+     * Koneksi yang masih dipinjam akan ditutup saat dikembalikan.
+     */
+    public void shutdown() {
+        ArrayDeque<PooledConnection> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+            notifyAll();
+        }
+        for (PooledConnection pooled : toClose) {
+            discard(pooled);
+        }
+    }
+
+    // --- Metrik ---
+
+    public synchronized int getActiveCount() { return inUse.size(); }
+    public synchronized int getIdleCount() { return idle.size(); }
+    public synchronized int getTotalCount() { return totalCount; }
+    public int getMaxSize() { return maxSize; }
+    public synchronized long getBorrowCount() { return borrowCount; }
+    public synchronized long getCreatedCount() { return createdCount; }
+    public synchronized long getDiscardedCount() { return discardedCount; }
+    public synchronized long getStatementCacheHits() { return statementHits; }
+    public synchronized long getStatementCacheMisses() { return statementMisses; }
+
+    public synchronized double getAverageWaitMillis() {
+        return borrowCount == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / borrowCount;
+    }
+
+    public synchronized double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    // ============================ Detail Internal ============================
+
+    // Mengambil koneksi menganggur yang belum kedaluwarsa (dipanggil dengan kunci)
+    private PooledConnection pollIdle(long now) {
+        PooledConnection found = null;
+        Iterator<PooledConnection> it = idle.iterator();
+        while (it.hasNext()) {
+            PooledConnection pooled = it.next();
+            boolean expired = now - pooled.lastUsedAt >= idleTimeoutMillis
+                    || now - pooled.createdAt >= maxLifetimeMillis;
+            if (expired) {
+                it.remove();
+                totalCount--;
+                discardedCount++;
+                closeQuietly(pooled.connection);
+            } else if (found == null) {
+                it.remove();
+                found = pooled;
+            }
+        }
+        return found;
+    }
+
+    private PooledConnection open() throws SQLException {
+        try {
+            Connection connection = DriverManager.getConnection(url);
+            connection.setTransactionIsolation(transactionIsolation);
+            synchronized (this) {
+                createdCount++;
+            }
+            return new PooledConnection(connection, System.currentTimeMillis(), statementCacheSize);
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                totalCount--; // Lepaskan slot yang sudah dipesan
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        closeQuietly(pooled.connection);
+        synchronized (this) {
+            totalCount--;
+            discardedCount++;
+            notifyAll();
+        }
+    }
+
+    private static boolean isClosedQuietly(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.hideseek.model;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Kelas utilitas basis data yang menangani seluruh operasi koneksi ke server MySQL.
@@ -16,32 +18,77 @@ public class DB {
 
     // Konfigurasi string koneksi (Connection String) yang mendefinisikan alamat server,
     // port, nama database, serta kredensial pengguna (username dan password).
-    private String dbUrl = "jdbc:mysql://localhost:3306/hide_seek_db?user=root&password=";
+    // useServerPrepStmts: PreparedStatement benar-benar di-parse sekali di server (bukan diemulasi driver).
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/hide_seek_db?user=root&password="
+            + "&useServerPrepStmts=true";
+
+    // Kolam koneksi bersama untuk seluruh aplikasi (dibuat saat DB pertama kali dipakai).
+    // Ukuran & batas waktu bisa diatur lewat -Dhideseek.db.poolSize, -Dhideseek.db.borrowTimeoutMs,
+    // -Dhideseek.db.idleTimeoutMs, -Dhideseek.db.maxLifetimeMs, dan -Dhideseek.db.statementCacheSize.
+    private static ConnectionPool pool;
+    private static boolean shutdownHookInstalled = false;
 
     // Objek-objek inti JDBC untuk mengelola sesi dan eksekusi perintah SQL.
     private Connection conn = null;
-    private Statement stmt = null;
+    private ConnectionPool owner;   // Kolam asal koneksi ini
+    private final List<Statement> statements = new ArrayList<>();
     private ResultSet rs = null;
 
     /**
      * Konstruktor kelas DB.
-     * * Setiap kali instansi kelas ini dibuat, ia akan mencoba memuat driver JDBC
-     * dan membuka koneksi baru ke database. Proses ini dibungkus dalam blok
-     * penanganan error untuk mengantisipasi kegagalan koneksi (misalnya server mati).
+     * * Setiap kali instansi kelas ini dibuat, ia meminjam satu koneksi dari kolam koneksi.
+     * Koneksi yang sudah "hangat" dipakai ulang, sehingga tidak perlu handshake TCP &
+     * autentikasi ke MySQL setiap kali. Jika kolam kosong, koneksi baru dibuka.
+     * Kegagalan koneksi (misalnya server mati) dilempar agar bisa diketahui oleh pemanggil.
      */
     public DB() throws Exception {
-        try {
+        owner = getPool();
+        conn = owner.borrow();
+    }
+
+    /**
+     * Kolam koneksi bersama. Driver JDBC dimuat sekali saat kolam dibuat.
+     * Dibuka untuk umum agar metriknya (waktu tunggu, koneksi aktif/menganggur) bisa dipantau.
+     */
+    public static synchronized ConnectionPool getPool() throws ClassNotFoundException {
+        if (pool == null) {
             // Memastikan driver MySQL tersedia di library proyek.
             Class.forName("com.mysql.cj.jdbc.Driver");
 
-            // Membuka jalur komunikasi ke database menggunakan URL konfigurasi.
-            conn = DriverManager.getConnection(dbUrl);
+            // Mode isolasi transaksi untuk membaca data dipasang sekali per koneksi fisik.
+            pool = new ConnectionPool(DB_URL,
+                    Integer.getInteger("hideseek.db.poolSize", 4),
+                    Long.getLong("hideseek.db.borrowTimeoutMs", 5_000L),
+                    Long.getLong("hideseek.db.idleTimeoutMs", 60_000L),
+                    Long.getLong("hideseek.db.maxLifetimeMs", 30 * 60_000L),
+                    Connection.TRANSACTION_READ_UNCOMMITTED,
+                    Integer.getInteger("hideseek.db.statementCacheSize", 16));
+            ensureShutdownHook();
+        }
+        return pool;
+    }
 
-            // Mengatur mode isolasi transaksi untuk membaca data.
-            conn.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
-        } catch (SQLException e) {
-            // Jika terjadi kesalahan koneksi, error dilempar agar bisa diketahui oleh pemanggil.
-            throw e;
+    /**
+     * Memasang (sekali) shutdown hook aplikasi. Shutdown hook JVM berjalan bersamaan tanpa urutan,
+     * jadi urutannya diatur di satu tempat: kirim sisa antrian simpan dulu, baru tutup kolam koneksi.
+     */
+    static synchronized void ensureShutdownHook() {
+        if (!shutdownHookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                SaveQueue.shutdownShared(5_000);
+                shutdownPool();
+            }, "db-shutdown"));
+            shutdownHookInstalled = true;
+        }
+    }
+
+    /**
+     * Menutup semua koneksi di kolam (dipanggil saat aplikasi ditutup).
+     */
+    public static synchronized void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
         }
     }
 
@@ -54,11 +101,24 @@ public class DB {
      * @return ResultSet berisi data hasil query.
      */
     public ResultSet createQuery(String query) throws SQLException {
-        stmt = conn.createStatement();
+        Statement stmt = conn.createStatement();
+        statements.add(stmt);
         // Mengeksekusi query dan mengembalikan pointer ke hasil data.
         return stmt.executeQuery(query);
     }
 
+    /**
+     * Mengambil PreparedStatement (dengan parameter '?') dari cache milik koneksi ini.
+     * * SQL yang sama cukup di-parse sekali per koneksi, dan nilai parameter dikirim terpisah
+     * dari teks SQL sehingga aman dari SQL Injection.
+     * Statement ini dipakai ulang, jadi JANGAN ditutup; cukup tutup ResultSet hasilnya.
+     *
+     * @param sql Perintah SQL dengan placeholder '?'.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return owner.prepare(conn, sql);
+    }
+
     /**
      * Metode untuk menjalankan perintah SQL yang bersifat mengubah data
      * (INSERT, UPDATE, DELETE).
@@ -69,7 +129,8 @@ public class DB {
      * @return Jumlah baris yang berhasil diubah/ditambah/dihapus.
      */
     public int createUpdate(String query) throws SQLException {
-        stmt = conn.createStatement();
+        Statement stmt = conn.createStatement();
+        statements.add(stmt);
         return stmt.executeUpdate(query);
     }
 
@@ -84,17 +145,24 @@ public class DB {
 
     /**
      * Metode pembersihan sumber daya (Resource Cleanup).
-     * * Sangat penting untuk menutup ResultSet, Statement, dan Connection setelah
-     * selesai digunakan agar tidak membebani memori server database dan mencegah
-     * kebocoran koneksi (connection leak).
+     * * Sangat penting untuk menutup ResultSet dan semua Statement setelah selesai digunakan,
+     * lalu mengembalikan Connection ke kolam, agar tidak membebani memori server database
+     * dan mencegah kebocoran koneksi (connection leak).
      */
     public void closeConnection() {
         try {
             if (rs != null) rs.close();
-            if (stmt != null) stmt.close();
-            if (conn != null) conn.close();
+            for (Statement stmt : statements) {
+                stmt.close();
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            statements.clear();
+            if (conn != null) {
+                owner.release(conn); // Kolam yang sudah ditutup akan menutup koneksinya
+                conn = null;
+            }
         }
     }
 
@@ -0,0 +1,190 @@
+package com.hideseek.model;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Cache Disk untuk Gambar yang Sudah Didekode.
+ *
+ * Mendekode PNG (inflate + filter per baris) jauh lebih mahal daripada sekadar menyalin piksel.
+ * Kelas ini menyimpan hasil dekode setiap aset sebagai piksel ARGB mentah di folder cache,
+ * sehingga peluncuran berikutnya cukup memetakan file tersebut ke memori (FileChannel.map)
+ * dan menyalinnya ke BufferedImage.
+ *
+ * Nama file cache = hash SHA-256 dari isi file sumber, jadi aset yang diubah otomatis
+ * mendapat entri baru (entri lama tidak pernah terbaca lagi).
+ *
+ * Format file (big-endian):
+ * <pre>
+ *   int magic   ('HSIC')
+ *   int version (FORMAT_VERSION)
+ *   int width
+ *   int height
+ *   int[width * height] piksel ARGB, baris demi baris
+ * </pre>
+ * File dengan header tidak cocok (format lama, rusak, atau terpotong) diabaikan lalu ditulis ulang.
+ */
+public class DecodedImageCache {
+
+    private static final int MAGIC = 0x48534943; // "HSIC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private final Path directory;
+
+    /**
+     * @param directory Folder penyimpanan cache (dibuat otomatis jika belum ada).
+     */
+    public DecodedImageCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Folder cache bawaan: ~/.hideseek/cache (bisa diganti dengan -Dhideseek.cacheDir=...).
+     */
+    public static Path defaultDirectory() {
+        String custom = System.getProperty("hideseek.cacheDir");
+        if (custom != null) {
+            return new File(custom).toPath();
+        }
+        return new File(System.getProperty("user.home"), ".hideseek" + File.separator + "cache").toPath();
+    }
+
+    /**
+     * Memuat gambar dari cache jika ada, atau mendekode PNG lalu menyimpannya ke cache.
+     *
+     * @param source File gambar asli (PNG).
+     * @return Gambar hasil dekode (TYPE_INT_ARGB saat berasal dari cache).
+     * @throws IOException Jika file sumber tidak bisa dibaca atau didekode.
+     */
+    public BufferedImage load(File source) throws IOException {
+        byte[] content = Files.readAllBytes(source.toPath());
+        Path entry = directory.resolve(sha256(content) + ".argb");
+
+        if (Files.isRegularFile(entry)) {
+            try {
+                BufferedImage cached = read(entry);
+                if (cached != null) {
+                    return cached;
+                }
+            } catch (IOException e) {
+                System.err.println("Cache aset rusak, didekode ulang: " + entry);
+            }
+        }
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(content));
+        if (decoded == null) {
+            throw new IOException("Format gambar tidak dikenali: " + source);
+        }
+        BufferedImage argb = toArgb(decoded);
+        try {
+            write(entry, argb);
+        } catch (IOException e) {
+            // Cache hanya optimasi: gagal menulis tidak boleh menggagalkan pemuatan aset
+            System.err.println("Gagal menulis cache aset: " + entry);
+            e.printStackTrace();
+        }
+        return argb;
+    }
+
+    // Membaca satu entri lewat memory-mapped file; null jika header tidak cocok
+    private static BufferedImage read(Path entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(entry, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            if (width <= 0 || height <= 0 || size != HEADER_BYTES + 4L * width * height) {
+                return null;
+            }
+
+            int[] pixels = new int[width * height];
+            buffer.asIntBuffer().get(pixels);
+
+            // setDataElements menyalin piksel, sehingga gambar tetap bisa di-cache oleh Java2D (managed)
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            image.getRaster().setDataElements(0, 0, width, height, pixels);
+            return image;
+        }
+    }
+
+    // Menulis ke file sementara dulu, lalu dipindah, agar pembaca tidak pernah melihat file setengah jadi
+    private void write(Path entry, BufferedImage image) throws IOException {
+        Files.createDirectories(directory);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = (int[]) image.getRaster().getDataElements(0, 0, width, height, null);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * pixels.length);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(width).putInt(height);
+        IntBuffer body = buffer.asIntBuffer();
+        body.put(pixels);
+        buffer.rewind();
+
+        Path temp = Files.createTempFile(directory, "asset", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            try {
+                Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static BufferedImage toArgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_ARGB) {
+            return source;
+        }
+        BufferedImage argb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = argb.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return argb;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 tidak tersedia", e); // Wajib ada di setiap JVM
+        }
+    }
+}
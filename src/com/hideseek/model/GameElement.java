@@ -20,12 +20,19 @@ public abstract class GameElement {
     protected int height;
     protected Image image;
 
+    // Posisi pada tick sebelumnya. Dipakai View untuk interpolasi gerakan
+    // di antara dua tick simulasi (render bisa lebih sering/lebih jarang dari tick).
+    protected int prevX;
+    protected int prevY;
+
     public GameElement(int x, int y, int width, int height, Image image) {
         this.x = x;
         this.y = y;
         this.width = width;
         this.height = height;
         this.image = image;
+        this.prevX = x;
+        this.prevY = y;
     }
 
     /**
@@ -39,7 +46,25 @@ public abstract class GameElement {
      * @return True jika kotak pembatas (hitbox) mereka saling bersinggungan.
      */
     public boolean checkCollision(GameElement other) {
-        return this.getBounds().intersects(other.getBounds());
+        return intersects(other.x, other.y, other.width, other.height);
+    }
+
+    /**
+     * Uji tumpang-tindih kotak (AABB) memakai angka primitif saja.
+     *
+     * Hasilnya sama dengan {@code getBounds().intersects(...)} milik java.awt.Rectangle,
+     * tetapi tanpa membuat objek Rectangle baru. Metode ini dipanggil ribuan kali per detik
+     * di Game Loop, sehingga bebas alokasi berarti bebas beban Garbage Collector.
+     */
+    public boolean intersects(int otherX, int otherY, int otherWidth, int otherHeight) {
+        if (width <= 0 || height <= 0 || otherWidth <= 0 || otherHeight <= 0) {
+            return false;
+        }
+        // Dihitung dengan long agar aman dari overflow pada koordinat ekstrem
+        return (long) otherX < (long) x + width
+                && (long) otherY < (long) y + height
+                && (long) x < (long) otherX + otherWidth
+                && (long) y < (long) otherY + otherHeight;
     }
 
     // --- Metode Akses Data (Getters & Setters) ---
@@ -54,12 +79,41 @@ public abstract class GameElement {
     public int getWidth() { return width; }
     public int getHeight() { return height; }
 
+    public int getPrevX() { return prevX; }
+    public int getPrevY() { return prevY; }
+
     public Image getImage() { return image; }
     public void setImage(Image image) { this.image = image; }
 
+    /**
+     * Mencatat posisi saat ini sebagai posisi "tick sebelumnya".
+     * Dipanggil ViewModel tepat sebelum objek digerakkan pada setiap tick.
+     */
+    public void savePreviousPosition() {
+        this.prevX = x;
+        this.prevY = y;
+    }
+
+    /**
+     * Posisi X hasil interpolasi antara tick sebelumnya dan tick sekarang.
+     *
+     * @param alpha Sisa waktu frame dalam satuan tick (0.0 = tick lalu, 1.0 = tick sekarang).
+     */
+    public int getRenderX(double alpha) {
+        return (int) Math.round(prevX + (x - prevX) * alpha);
+    }
+
+    /**
+     * Posisi Y hasil interpolasi, lihat {@link #getRenderX(double)}.
+     */
+    public int getRenderY(double alpha) {
+        return (int) Math.round(prevY + (y - prevY) * alpha);
+    }
+
     /**
      * Membentuk kotak imajiner (Hitbox) di sekitar objek.
-     * Kotak inilah yang sebenarnya digunakan untuk perhitungan tabrakan.
+     * Catatan: metode ini membuat objek baru, jadi jangan dipakai di dalam Game Loop;
+     * gunakan {@link #intersects(int, int, int, int)} untuk perhitungan tabrakan.
      */
     public Rectangle getBounds() {
         return new Rectangle(x, y, width, height);
@@ -0,0 +1,369 @@
+package com.hideseek.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository Pengguna Lokal (Log-Structured), tanpa server database.
+ *
+ * Untuk instalasi satu komputer, menjalankan MySQL hanya untuk menyimpan empat kolom per pemain
+ * terlalu mahal. Kelas ini menyimpan data pemain di satu file log:
+ * 1. Setiap simpanan DITAMBAHKAN di akhir file (append-only) sebagai record ber-CRC, dengan format
+ *    yang sama seperti {@link SaveJournal}. Satu batch = satu fsync.
+ * 2. Indeks hash di memori (username -> posisi record terbaru) dibangun sekali saat file dibuka.
+ * 3. Pembacaan (Load Game, Leaderboard) mengambil record langsung dari file yang dipetakan
+ *    ke memori (FileChannel.map), tanpa system call per record.
+ * 4. Record lama yang sudah digantikan ("mati") dibuang lewat compaction: jika jumlahnya melebihi
+ *    record hidup, file ditulis ulang berisi record terbaru saja (file sementara + pindah atomik).
+ *
+ * Format file: int magic ('HSUL'), int version, lalu record-record berurutan.
+ * Record yang terpotong di akhir file (crash saat menulis) dibuang saat file dibuka.
+ *
+ * Dipilih dengan -Dhideseek.storage=embedded; lokasi file lihat {@link #defaultFile()}.
+ */
+public class LogUserRepository implements UserRepository {
+
+    private static final int MAGIC = 0x4853554C; // "HSUL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    // Compaction hanya jika record mati >= batas ini DAN lebih banyak dari record hidup
+    private static final int COMPACT_MIN_DEAD_RECORDS = 1024;
+
+    private static LogUserRepository shared;
+
+    private final Path file;
+    private FileChannel channel;
+    private MappedByteBuffer map;           // Peta baca; dibuat ulang jika file sudah bertambah panjang
+    private long size;                      // Akhir data valid = posisi append berikutnya
+    private Map<String, Long> index = new HashMap<>();
+    private int deadRecords = 0;
+    // Setelah compaction gagal, dicoba lagi saat record mati mencapai jumlah ini (bukan di setiap simpanan)
+    private int compactRetryDeadRecords = 0;
+
+    // --- Metrik ---
+    private long compactions = 0;
+
+    /**
+     * Membuka (atau membuat) file penyimpanan dan membangun indeksnya.
+     *
+     * @throws IOException Jika file tidak bisa dibuka, atau bukan file penyimpanan HideSeek.
+     */
+    public LogUserRepository(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.deleteIfExists(tempFile()); // Sisa compaction yang terputus
+        channel = open(file);
+        load();
+        if (shouldCompact()) {
+            compact(); // Dikerjakan sebelum file dipetakan (di Windows, file yang dipetakan tidak bisa diganti)
+        }
+    }
+
+    /**
+     * Instance bersama untuk file bawaan. Satu file hanya boleh dibuka oleh satu instance.
+     */
+    public static synchronized LogUserRepository shared() throws IOException {
+        if (shared == null) {
+            shared = new LogUserRepository(defaultFile());
+        }
+        return shared;
+    }
+
+    /**
+     * Lokasi file bawaan: ~/.hideseek/users.log (bisa diganti dengan -Dhideseek.storageFile=...).
+     */
+    public static Path defaultFile() {
+        String custom = System.getProperty("hideseek.storageFile");
+        if (custom != null) {
+            return new File(custom).toPath();
+        }
+        return new File(System.getProperty("user.home"), ".hideseek" + File.separator + "users.log").toPath();
+    }
+
+    @Override
+    public synchronized List<UserStats> getAllUsers() {
+        List<UserStats> userList = new ArrayList<>(index.size());
+        try {
+            for (long offset : index.values()) {
+                userList.add(readAt(offset));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        userList.sort((a, b) -> Integer.compare(b.getSkor(), a.getSkor())); // Sama dengan ORDER BY skor DESC
+        return userList;
+    }
+
+    @Override
+    public synchronized UserStats getUserByUsername(String username) {
+        Long offset = index.get(username);
+        if (offset != null) {
+            try {
+                return readAt(offset);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return new UserStats(username, 0, 0, 0); // Default jika user baru
+    }
+
+    @Override
+    public synchronized void registerUser(String username) {
+        if (!index.containsKey(username)) {
+            updateUserStatsBatch(Collections.singletonList(new UserStats(username, 0, 0, 0)));
+        }
+    }
+
+    @Override
+    public synchronized UserStats registerOrLoad(String username) {
+        registerUser(username);
+        Long offset = index.get(username);
+        if (offset == null) {
+            return new UserStats(username, 0, 0, 0); // Pemain baru (pendaftaran gagal ditulis, tapi tidak ada progres lama)
+        }
+        try {
+            return readAt(offset);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null; // Progres lama ada tetapi tidak terbaca
+        }
+    }
+
+    @Override
+    public synchronized boolean updateUserStatsBatch(List<UserStats> batch) {
+        if (batch.isEmpty()) return true;
+        try {
+            append(batch);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        if (shouldCompact()) {
+            try {
+                compact();
+            } catch (IOException e) {
+                e.printStackTrace(); // Data tetap aman di file lama
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void updateUserStats(String username, int score, int missed, int ammo) {
+        updateUserStatsBatch(Collections.singletonList(new UserStats(username, score, missed, ammo)));
+    }
+
+    // --- Metrik ---
+
+    public synchronized int getLiveRecordCount() { return index.size(); }
+    public synchronized int getDeadRecordCount() { return deadRecords; }
+    public synchronized long getFileSize() { return size; }
+    public synchronized long getCompactionCount() { return compactions; }
+    public Path getFile() { return file; }
+
+    // ============================ Detail Internal ============================
+
+    // Membaca seluruh file sekali untuk membangun indeks; ekor yang rusak dipotong
+    private void load() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            writeFully(channel, header, 0);
+            channel.force(false);
+            size = FILE_HEADER_BYTES;
+            return;
+        }
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("File penyimpanan terlalu besar: " + fileSize + " byte");
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((int) fileSize);
+        readFully(data, 0);
+        data.flip();
+        if (fileSize < FILE_HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Bukan file penyimpanan HideSeek (atau versinya berbeda): " + file);
+        }
+
+        int position = FILE_HEADER_BYTES;
+        while (position + SaveJournal.RECORD_HEADER_BYTES <= data.limit()) {
+            int length = data.getInt(position);
+            int crc = data.getInt(position + 4);
+            int payloadStart = position + SaveJournal.RECORD_HEADER_BYTES;
+            if (length < SaveJournal.MIN_PAYLOAD_BYTES || length > SaveJournal.MAX_PAYLOAD_BYTES
+                    || payloadStart + length > data.limit()) {
+                break; // Record terpotong
+            }
+            ByteBuffer payload = data.duplicate();
+            payload.limit(payloadStart + length).position(payloadStart);
+            if (crc != SaveJournal.crc32(payload)) {
+                break; // Isi rusak
+            }
+            UserStats stats = SaveJournal.decode(payload);
+            if (stats == null) break;
+
+            if (index.put(stats.getUsername(), (long) position) != null) {
+                deadRecords++;
+            }
+            position = payloadStart + length;
+        }
+
+        if (position < fileSize) {
+            System.out.println("Penyimpanan lokal: " + (fileSize - position) + " byte rusak di akhir file dibuang");
+            channel.truncate(position);
+            channel.force(false);
+        }
+        size = position;
+    }
+
+    // Menulis semua record dalam satu write + satu fsync; indeks baru diubah setelah data aman di disk
+    private void append(List<UserStats> batch) throws IOException {
+        List<ByteBuffer> records = new ArrayList<>(batch.size());
+        int total = 0;
+        for (UserStats stats : batch) {
+            ByteBuffer record = SaveJournal.encode(stats);
+            records.add(record);
+            total += record.remaining();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (ByteBuffer record : records) {
+            buffer.put(record);
+        }
+        buffer.flip();
+
+        try {
+            writeFully(channel, buffer, size);
+            channel.force(false);
+        } catch (IOException e) {
+            channel.truncate(size); // Buang tulisan setengah jadi
+            throw e;
+        }
+
+        long offset = size;
+        for (int i = 0; i < batch.size(); i++) {
+            if (index.put(batch.get(i).getUsername(), offset) != null) {
+                deadRecords++;
+            }
+            offset += records.get(i).capacity();
+        }
+        size = offset;
+    }
+
+    private UserStats readAt(long offset) throws IOException {
+        if (map == null || map.capacity() < size) {
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int start = (int) offset + SaveJournal.RECORD_HEADER_BYTES;
+        ByteBuffer payload = map.duplicate();
+        payload.limit(start + map.getInt((int) offset)).position(start);
+        UserStats stats = SaveJournal.decode(payload);
+        if (stats == null) {
+            throw new IOException("Record rusak pada posisi " + offset);
+        }
+        return stats;
+    }
+
+    // Menyalin satu record utuh (header + payload) dari file
+    private ByteBuffer readRecord(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SaveJournal.RECORD_HEADER_BYTES);
+        readFully(header, offset);
+        ByteBuffer record = ByteBuffer.allocate(SaveJournal.RECORD_HEADER_BYTES + header.getInt(0));
+        readFully(record, offset);
+        record.flip();
+        return record;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("File penyimpanan berakhir di tengah record");
+            position += read;
+        }
+    }
+
+    private boolean shouldCompact() {
+        return deadRecords >= Math.max(COMPACT_MIN_DEAD_RECORDS, compactRetryDeadRecords)
+                && deadRecords > index.size();
+    }
+
+    // Menulis ulang file hanya berisi record terbaru setiap user
+    private void compact() throws IOException {
+        Path temp = tempFile();
+        Map<String, Long> newIndex = new HashMap<>();
+        long position = FILE_HEADER_BYTES;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            writeFully(out, header, 0);
+            for (Map.Entry<String, Long> entry : index.entrySet()) {
+                ByteBuffer record = readRecord(entry.getValue()); // Lewat channel, bukan peta memori
+                newIndex.put(entry.getKey(), position);
+                int length = record.remaining();
+                writeFully(out, record, position);
+                position += length;
+            }
+            out.force(true);
+        }
+
+        map = null;
+        channel.close();
+        try {
+            replaceFile(temp);
+        } catch (IOException e) {
+            // Misal: Windows menolak mengganti file yang masih dipetakan. Dicoba lagi setelah
+            // COMPACT_MIN_DEAD_RECORDS record mati berikutnya (atau saat aplikasi dibuka).
+            System.out.println("Compaction penyimpanan lokal ditunda: " + e.getMessage());
+            compactRetryDeadRecords = deadRecords + COMPACT_MIN_DEAD_RECORDS;
+            Files.deleteIfExists(temp);
+            channel = open(file);
+            return;
+        }
+
+        channel = open(file);
+        index = newIndex;
+        size = position;
+        deadRecords = 0;
+        compactRetryDeadRecords = 0;
+        compactions++;
+    }
+
+    // Mengganti file penyimpanan dengan hasil compaction (package-private agar kegagalannya bisa diuji)
+    void replaceFile(Path temp) throws IOException {
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path tempFile() {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+    }
+}
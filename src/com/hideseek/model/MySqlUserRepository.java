@@ -0,0 +1,234 @@
+package com.hideseek.model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository Pengguna berbasis MySQL (implementasi bawaan {@link UserRepository}).
+ * * Kelas ini bertindak sebagai perantara (Middleman) antara Database dan Aplikasi.
+ * Di sinilah semua sintaks SQL (SELECT, INSERT, UPDATE) ditulis.
+ * Tujuannya agar ViewModel tetap bersih dan tidak tercemar oleh kode SQL.
+ *
+ * Semua query memakai PreparedStatement dengan parameter '?':
+ * - Nilai (misal: username) tidak pernah digabung ke teks SQL, jadi aman dari SQL Injection.
+ * - Teks SQL selalu sama, sehingga statement-nya bisa diambil dari cache per koneksi (DB.prepare)
+ *   dan MySQL tidak perlu mem-parse ulang setiap kali.
+ */
+public class MySqlUserRepository implements UserRepository {
+
+    private static final String SQL_ALL_USERS =
+            "SELECT username, skor, peluru_meleset, sisa_peluru FROM tbenefit ORDER BY skor DESC";
+    private static final String SQL_FIND_USER =
+            "SELECT skor, peluru_meleset, sisa_peluru FROM tbenefit WHERE username = ?";
+    // Insert-jika-belum-ada yang atomik: username adalah Primary Key, jadi dua klien yang
+    // mendaftarkan nama sama bersamaan tidak bisa menghasilkan baris ganda atau error.
+    private static final String SQL_REGISTER_USER =
+            "INSERT INTO tbenefit (username, skor, peluru_meleset, sisa_peluru) VALUES (?, 0, 0, 0) "
+                    + "ON DUPLICATE KEY UPDATE username = username";
+    // Khusus registerOrLoad: jumlah baris hasilnya harus bisa dipercaya. Dengan ON DUPLICATE KEY,
+    // Connector/J (tanpa useAffectedRows=true) melaporkan baris yang DITEMUKAN, jadi nama yang sudah
+    // ada tetap memberi 1. INSERT IGNORE memberi 1 hanya jika baris benar-benar baru, 0 jika sudah ada.
+    private static final String SQL_INSERT_IF_ABSENT =
+            "INSERT IGNORE INTO tbenefit (username, skor, peluru_meleset, sisa_peluru) VALUES (?, 0, 0, 0)";
+    // Simpan progres; baris dibuat jika ternyata belum ada (satu statement, tanpa SELECT dulu)
+    private static final String SQL_SAVE_STATS =
+            "INSERT INTO tbenefit (username, skor, peluru_meleset, sisa_peluru) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE skor = ?, peluru_meleset = ?, sisa_peluru = ?";
+
+    // Mengambil daftar semua pemain untuk Highscore (Leaderboard)
+    @Override
+    public List<UserStats> getAllUsers() {
+        List<UserStats> userList = new ArrayList<>();
+        DB db = null;
+        try {
+            db = new DB();
+            PreparedStatement ps = db.prepare(SQL_ALL_USERS);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // Mengonversi baris data mentah menjadi objek Java
+                    UserStats user = new UserStats(
+                            rs.getString("username"),
+                            rs.getInt("skor"),
+                            rs.getInt("peluru_meleset"),
+                            rs.getInt("sisa_peluru")
+                    );
+                    userList.add(user);
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            if (db != null) db.closeConnection();
+        }
+        return userList;
+    }
+
+    // Mengambil data spesifik satu pemain (untuk fitur Load Game)
+    @Override
+    public UserStats getUserByUsername(String username) {
+        UserStats stats = new UserStats(username, 0, 0, 0); // Default jika user baru
+        DB db = null;
+        try {
+            db = new DB();
+            PreparedStatement ps = db.prepare(SQL_FIND_USER);
+            ps.setString(1, username);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    stats.setSkor(rs.getInt("skor"));
+                    stats.setPeluruMeleset(rs.getInt("peluru_meleset"));
+                    stats.setSisaPeluru(rs.getInt("sisa_peluru"));
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            if (db != null) db.closeConnection();
+        }
+        return stats;
+    }
+
+    // Mendaftarkan username baru ke sistem jika belum ada
+    @Override
+    public void registerUser(String username) {
+        DB db = null;
+        try {
+            db = new DB();
+            PreparedStatement ps = db.prepare(SQL_REGISTER_USER);
+            ps.setString(1, username);
+            ps.executeUpdate();
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            if (db != null) db.closeConnection();
+        }
+    }
+
+    /**
+     * Mendaftarkan pemain jika belum ada, lalu mengembalikan stats terbarunya.
+     * Pemain lama cukup satu SELECT (satu round trip). Pemain baru tetap butuh DUA round trip
+     * (SELECT kosong, lalu INSERT), bukan satu statement gabungan: gabungan INSERT + SELECT
+     * membutuhkan allowMultiQueries yang sengaja tidak diaktifkan. Jika INSERT tidak menambah baris
+     * (klien lain mendaftarkan nama yang sama lebih dulu), barisnya dibaca ulang (round trip ketiga).
+     * Semua statement diambil dari cache koneksi yang sama.
+     *
+     * @return Stats pemain (semua 0 untuk pemain baru), atau null jika database tidak bisa dihubungi.
+     *         Jangan diganti dengan nol: progres nol yang disimpan nanti akan menimpa progres asli.
+     */
+    @Override
+    public UserStats registerOrLoad(String username) {
+        UserStats stats = null;
+        DB db = null;
+        try {
+            db = new DB();
+            PreparedStatement find = db.prepare(SQL_FIND_USER);
+            find.setString(1, username);
+            stats = readStats(find, username);
+
+            if (stats == null) {
+                PreparedStatement register = db.prepare(SQL_INSERT_IF_ABSENT);
+                register.setString(1, username);
+                // 1 = baris baru dibuat; 0 = sudah ada (didaftarkan klien lain di antara SELECT dan INSERT)
+                if (register.executeUpdate() == 1) {
+                    stats = new UserStats(username, 0, 0, 0);
+                } else {
+                    stats = readStats(find, username);
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            stats = null;
+        } finally {
+            if (db != null) db.closeConnection();
+        }
+        return stats;
+    }
+
+    // Menjalankan SQL_FIND_USER yang parameternya sudah diisi; null jika baris tidak ada
+    private static UserStats readStats(PreparedStatement find, String username) throws SQLException {
+        try (ResultSet rs = find.executeQuery()) {
+            if (!rs.next()) return null;
+            return new UserStats(username, rs.getInt("skor"),
+                    rs.getInt("peluru_meleset"), rs.getInt("sisa_peluru"));
+        }
+    }
+
+    /**
+     * Menyimpan progres beberapa pemain sekaligus: satu koneksi, satu batch JDBC, satu commit.
+     * Dipakai oleh SaveQueue (penulis latar belakang).
+     *
+     * @return true jika seluruh batch tersimpan; false jika gagal (tidak ada yang tersimpan).
+     */
+    @Override
+    public boolean updateUserStatsBatch(List<UserStats> batch) {
+        if (batch.isEmpty()) return true;
+        DB db = null;
+        Connection conn = null;
+        try {
+            db = new DB();
+            conn = db.getConnection();
+            conn.setAutoCommit(false);
+
+            PreparedStatement ps = db.prepare(SQL_SAVE_STATS);
+            for (UserStats stats : batch) {
+                ps.setString(1, stats.getUsername());
+                ps.setInt(2, stats.getSkor());
+                ps.setInt(3, stats.getPeluruMeleset());
+                ps.setInt(4, stats.getSisaPeluru());
+                ps.setInt(5, stats.getSkor());
+                ps.setInt(6, stats.getPeluruMeleset());
+                ps.setInt(7, stats.getSisaPeluru());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            conn.commit();
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true); // Koneksi kembali ke kolam dalam keadaan semula
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            if (db != null) db.closeConnection();
+        }
+    }
+
+    // Menyimpan progres permainan terakhir (Save Game)
+    @Override
+    public void updateUserStats(String username, int score, int missed, int ammo) {
+        DB db = null;
+        try {
+            db = new DB();
+            PreparedStatement ps = db.prepare(SQL_SAVE_STATS);
+            ps.setString(1, username);
+            ps.setInt(2, score);
+            ps.setInt(3, missed);
+            ps.setInt(4, ammo);
+            ps.setInt(5, score);
+            ps.setInt(6, missed);
+            ps.setInt(7, ammo);
+            ps.executeUpdate();
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            if (db != null) db.closeConnection();
+        }
+    }
+}
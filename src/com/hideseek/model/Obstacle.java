@@ -10,12 +10,15 @@ import java.awt.Image;
  */
 public class Obstacle extends GameElement {
 
+    // Ketahanan awal setiap batu
+    public static final int MAX_HP = 25;
+
     // Ketahanan batu. Private agar tidak bisa diubah sembarangan dari luar.
     private int hp;
 
     public Obstacle(int x, int y, int width, int height, Image image) {
         super(x, y, width, height, image);
-        this.hp = 25; // Batu hancur setelah kena 25 hit
+        this.hp = MAX_HP; // Batu hancur setelah kena 25 hit
     }
 
     /**
@@ -0,0 +1,112 @@
+package com.hideseek.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Penyimpanan Alien model "Structure of Arrays" (SoA).
+ * Posisi dan ukuran setiap alien disimpan di array int paralel; objek Alien hanya
+ * menjadi pegangan (handle) yang disinkronkan saat diminta lewat get().
+ */
+public class PackedAlienStore implements AlienStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size = 0;
+
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    private int[] prevX = new int[INITIAL_CAPACITY];
+    private int[] prevY = new int[INITIAL_CAPACITY];
+    private int[] width = new int[INITIAL_CAPACITY];
+    private int[] height = new int[INITIAL_CAPACITY];
+    private Alien[] handles = new Alien[INITIAL_CAPACITY];
+
+    private final List<Alien> view = new AbstractList<Alien>() {
+        @Override public Alien get(int index) { return PackedAlienStore.this.get(index); }
+        @Override public int size() { return size; }
+    };
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public void add(Alien alien) {
+        if (size == handles.length) {
+            grow();
+        }
+        int i = size++;
+        x[i] = alien.getX();
+        y[i] = alien.getY();
+        prevX[i] = alien.getPrevX();
+        prevY[i] = alien.getPrevY();
+        width[i] = alien.getWidth();
+        height[i] = alien.getHeight();
+        handles[i] = alien;
+        alien.storeIndex = i;
+    }
+
+    @Override
+    public void moveRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            y[i] -= Alien.SPEED;
+        }
+    }
+
+    @Override public int getX(int index) { return x[index]; }
+    @Override public int getY(int index) { return y[index]; }
+    @Override public int getWidth(int index) { return width[index]; }
+    @Override public int getHeight(int index) { return height[index]; }
+    @Override public void setY(int index, int y) { this.y[index] = y; }
+    @Override public int getPrevX(int index) { return prevX[index]; }
+    @Override public int getPrevY(int index) { return prevY[index]; }
+
+    @Override
+    public Alien get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Alien handle = handles[index];
+        handle.x = x[index];
+        handle.y = y[index];
+        handle.prevX = prevX[index];
+        handle.prevY = prevY[index];
+        return handle;
+    }
+
+    @Override
+    public Alien removeAt(int index) {
+        Alien removed = get(index);
+        int last = --size;
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            prevX[index] = prevX[last];
+            prevY[index] = prevY[last];
+            width[index] = width[last];
+            height[index] = height[last];
+            handles[index] = handles[last];
+            handles[index].storeIndex = index;
+        }
+        handles[last] = null;
+        removed.storeIndex = -1;
+        return removed;
+    }
+
+    @Override
+    public List<Alien> asList() { return view; }
+
+    private void grow() {
+        int capacity = handles.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+    }
+}
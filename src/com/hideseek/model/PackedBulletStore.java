@@ -0,0 +1,136 @@
+package com.hideseek.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Penyimpanan Peluru model "Structure of Arrays" (SoA).
+ *
+ * Alih-alih ribuan objek Bullet yang tersebar di heap, data setiap peluru disimpan di
+ * array primitif paralel (posisi presisi, kecepatan, posisi integer, dst). Loop
+ * {@link #moveAll()} membaca memori secara berurutan sehingga ramah cache CPU, dan
+ * penghapusan cukup menukar slot dengan slot terakhir (swap-remove, O(1)).
+ *
+ * Objek Bullet tetap ada sebagai "pegangan" (handle) per slot agar View dan BulletPool
+ * bisa bekerja seperti biasa; isinya baru disalin dari array saat diminta lewat get().
+ */
+public class PackedBulletStore implements BulletStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int size = 0;
+
+    private double[] preciseX = new double[INITIAL_CAPACITY];
+    private double[] preciseY = new double[INITIAL_CAPACITY];
+    private double[] velocityX = new double[INITIAL_CAPACITY];
+    private double[] velocityY = new double[INITIAL_CAPACITY];
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    private int[] prevX = new int[INITIAL_CAPACITY];
+    private int[] prevY = new int[INITIAL_CAPACITY];
+    private int[] width = new int[INITIAL_CAPACITY];
+    private int[] height = new int[INITIAL_CAPACITY];
+    private boolean[] enemy = new boolean[INITIAL_CAPACITY];
+    private Bullet[] handles = new Bullet[INITIAL_CAPACITY];
+
+    private final List<Bullet> view = new AbstractList<Bullet>() {
+        @Override public Bullet get(int index) { return PackedBulletStore.this.get(index); }
+        @Override public int size() { return size; }
+    };
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public void add(Bullet bullet) {
+        if (size == handles.length) {
+            grow();
+        }
+        int i = size++;
+        preciseX[i] = bullet.getPreciseX();
+        preciseY[i] = bullet.getPreciseY();
+        velocityX[i] = bullet.getVelocityX();
+        velocityY[i] = bullet.getVelocityY();
+        x[i] = bullet.getX();
+        y[i] = bullet.getY();
+        prevX[i] = bullet.getPrevX();
+        prevY[i] = bullet.getPrevY();
+        width[i] = bullet.getWidth();
+        height[i] = bullet.getHeight();
+        enemy[i] = bullet.isEnemyBullet();
+        handles[i] = bullet;
+    }
+
+    @Override
+    public void moveRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            preciseX[i] += velocityX[i];
+            preciseY[i] += velocityY[i];
+            x[i] = (int) preciseX[i];
+            y[i] = (int) preciseY[i];
+        }
+    }
+
+    @Override public int getX(int index) { return x[index]; }
+    @Override public int getY(int index) { return y[index]; }
+    @Override public int getWidth(int index) { return width[index]; }
+    @Override public int getHeight(int index) { return height[index]; }
+    @Override public boolean isEnemyBullet(int index) { return enemy[index]; }
+    @Override public int getPrevX(int index) { return prevX[index]; }
+    @Override public int getPrevY(int index) { return prevY[index]; }
+
+    @Override
+    public Bullet get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Bullet handle = handles[index];
+        handle.syncState(x[index], y[index], prevX[index], prevY[index], preciseX[index], preciseY[index]);
+        return handle;
+    }
+
+    @Override
+    public Bullet removeAt(int index) {
+        Bullet removed = get(index);
+        int last = --size;
+        if (index != last) {
+            preciseX[index] = preciseX[last];
+            preciseY[index] = preciseY[last];
+            velocityX[index] = velocityX[last];
+            velocityY[index] = velocityY[last];
+            x[index] = x[last];
+            y[index] = y[last];
+            prevX[index] = prevX[last];
+            prevY[index] = prevY[last];
+            width[index] = width[last];
+            height[index] = height[last];
+            enemy[index] = enemy[last];
+            handles[index] = handles[last];
+        }
+        handles[last] = null;
+        return removed;
+    }
+
+    @Override
+    public List<Bullet> asList() { return view; }
+
+    // Menggandakan kapasitas semua array sekaligus (amortized O(1) per penambahan)
+    private void grow() {
+        int capacity = handles.length * 2;
+        preciseX = Arrays.copyOf(preciseX, capacity);
+        preciseY = Arrays.copyOf(preciseY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        enemy = Arrays.copyOf(enemy, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+    }
+}
@@ -56,9 +56,10 @@ public class Player extends GameElement {
      *
      * @param targetMouseX Koordinat X kursor mouse.
      * @param targetMouseY Koordinat Y kursor mouse.
+     * @param pool Kolam peluru tempat mengambil objek Bullet.
      * @return Objek Bullet baru yang siap diluncurkan, atau null jika peluru habis.
      */
-    public Bullet shootAt(int targetMouseX, int targetMouseY) {
+    public Bullet shootAt(int targetMouseX, int targetMouseY, BulletPool pool) {
         if (ammo <= 0) return null;
 
         // Titik asal tembakan (dari tengah badan player)
@@ -81,8 +82,8 @@ public class Player extends GameElement {
 
         this.decreaseAmmo(); // Kurangi stok peluru
 
-        // Mengembalikan peluru baru ke ViewModel
-        return new Bullet((int)startX, (int)startY, 10, 20, null, false, velX, velY);
+        // Mengambil peluru dari kolam lalu mengembalikannya ke ViewModel
+        return pool.acquire((int)startX, (int)startY, 10, 20, false, velX, velY);
     }
 
     // --- Manajemen Statistik ---
@@ -1,11 +1,17 @@
 package com.hideseek.model;
 
 import javax.imageio.ImageIO;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
 import java.awt.Image;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Kelas Utilitas untuk memuat aset gambar.
@@ -13,9 +19,23 @@ import java.util.List;
  */
 public class ResourceManager {
 
+    // Cache sprite yang sudah dikonversi & diskalakan untuk layar saat ini
+    private static final SpriteCache spriteCache = new SpriteCache();
+    // Lembar atlas untuk sprite kecil (alien, meteor, player); cukup untuk semua aset bawaan
+    private static final TextureAtlas atlas = new TextureAtlas(256);
+    // Cache piksel hasil dekode di disk; null jika dimatikan (-Dhideseek.assetCache=false)
+    private static final DecodedImageCache decodedCache =
+            "false".equalsIgnoreCase(System.getProperty("hideseek.assetCache"))
+                    ? null : new DecodedImageCache(DecodedImageCache.defaultDirectory());
+    // Thread pool untuk memuat aset secara paralel (lihat loaderPool())
+    private static ExecutorService loaderPool;
+
     // Helper method untuk memuat satu gambar dengan aman
     public static Image loadImage(String path) {
         try {
+            if (decodedCache != null) {
+                return decodedCache.load(new File(path));
+            }
             return ImageIO.read(new File(path));
         } catch (IOException e) {
             System.err.println("Gagal memuat gambar dari path: " + path);
@@ -24,38 +44,47 @@ public class ResourceManager {
         }
     }
 
+    // Daftar file aset (dipakai oleh pemuat sinkron maupun asinkron)
+    private static final String[] ALIEN_FILES = {
+            "assets/Alien/shipBeige_manned.png",
+            "assets/Alien/shipBlue_manned.png",
+            "assets/Alien/shipGreen_manned.png",
+            "assets/Alien/shipPink_manned.png",
+            "assets/Alien/shipYellow_manned.png"
+    };
+    private static final String[] METEOR_FILES = {
+            "assets/Meteors/meteorBrown_big1.png", "assets/Meteors/meteorBrown_big2.png",
+            "assets/Meteors/meteorBrown_big3.png", "assets/Meteors/meteorBrown_big4.png",
+            "assets/Meteors/meteorGrey_big1.png", "assets/Meteors/meteorGrey_big2.png",
+            "assets/Meteors/meteorGrey_big3.png", "assets/Meteors/meteorGrey_big4.png"
+    };
+    private static final String PLAYER_FILE = "assets/Player/Player.png";
+    private static final String BACKGROUND_FILE = "assets/Backgrounds/blue.png";
+
     // Memuat daftar gambar Alien
     public static List<Image> loadAlienImages() {
-        List<Image> images = new ArrayList<>();
-        String[] files = {
-                "shipBeige_manned.png",
-                "shipBlue_manned.png",
-                "shipGreen_manned.png",
-                "shipPink_manned.png",
-                "shipYellow_manned.png"
-        };
-
-        for (String f : files) {
-            Image img = loadImage("assets/Alien/" + f);
-            if (img != null) {
-                images.add(img);
-            }
-        }
-        return images;
+        return loadImages(ALIEN_FILES);
     }
 
     // Memuat daftar gambar Meteor
     public static List<Image> loadMeteorImages() {
+        return loadImages(METEOR_FILES);
+    }
+
+    // Memuat gambar Player
+    public static Image loadPlayerImage() {
+        return loadImage(PLAYER_FILE);
+    }
+
+    // Memuat Background
+    public static Image loadBackgroundImage() {
+        return loadImage(BACKGROUND_FILE);
+    }
+
+    private static List<Image> loadImages(String[] paths) {
         List<Image> images = new ArrayList<>();
-        String[] files = {
-                "meteorBrown_big1.png", "meteorBrown_big2.png",
-                "meteorBrown_big3.png", "meteorBrown_big4.png",
-                "meteorGrey_big1.png", "meteorGrey_big2.png",
-                "meteorGrey_big3.png", "meteorGrey_big4.png"
-        };
-
-        for (String f : files) {
-            Image img = loadImage("assets/Meteors/" + f);
+        for (String path : paths) {
+            Image img = loadImage(path);
             if (img != null) {
                 images.add(img);
             }
@@ -63,13 +92,93 @@ public class ResourceManager {
         return images;
     }
 
-    // Memuat gambar Player
-    public static Image loadPlayerImage() {
-        return loadImage("assets/Player/Player.png");
+    // ==================== PEMUATAN ASINKRON ====================
+
+    /**
+     * Memuat satu gambar di thread pemuat aset (tidak memblokir EDT).
+     * Hasilnya null jika file gagal dibaca, sama seperti {@link #loadImage(String)}.
+     */
+    public static CompletableFuture<Image> loadImageAsync(String path) {
+        return CompletableFuture.supplyAsync(() -> loadImage(path), loaderPool());
     }
 
-    // Memuat Background
-    public static Image loadBackgroundImage() {
-        return loadImage("assets/Backgrounds/blue.png");
+    // Semua file didekode paralel; urutan hasil tetap sama dengan urutan daftar file
+    public static CompletableFuture<List<Image>> loadAlienImagesAsync() {
+        return loadImagesAsync(ALIEN_FILES);
+    }
+
+    public static CompletableFuture<List<Image>> loadMeteorImagesAsync() {
+        return loadImagesAsync(METEOR_FILES);
+    }
+
+    public static CompletableFuture<Image> loadPlayerImageAsync() {
+        return loadImageAsync(PLAYER_FILE);
+    }
+
+    public static CompletableFuture<Image> loadBackgroundImageAsync() {
+        return loadImageAsync(BACKGROUND_FILE);
+    }
+
+    private static CompletableFuture<List<Image>> loadImagesAsync(String[] paths) {
+        List<CompletableFuture<Image>> parts = new ArrayList<>();
+        for (String path : paths) {
+            parts.add(loadImageAsync(path));
+        }
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<Image> images = new ArrayList<>();
+            for (CompletableFuture<Image> part : parts) {
+                Image img = part.join();
+                if (img != null) {
+                    images.add(img);
+                }
+            }
+            return images;
+        });
+    }
+
+    /**
+     * Thread pool pemuat aset, dibuat saat pertama kali dibutuhkan.
+     * Jumlah thread dibatasi (2-4) agar dekode PNG tidak berebut CPU dengan EDT.
+     * Thread bertipe daemon sehingga tidak menahan aplikasi saat ditutup.
+     */
+    private static synchronized ExecutorService loaderPool() {
+        if (loaderPool == null) {
+            int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+            AtomicInteger counter = new AtomicInteger();
+            loaderPool = Executors.newFixedThreadPool(threads, task -> {
+                Thread t = new Thread(task, "asset-loader-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return loaderPool;
+    }
+
+    /**
+     * Mengambil versi aset yang sudah kompatibel dengan layar dan berukuran tepat,
+     * sehingga bisa digambar tanpa skala: drawImage(sprite, x, y, null).
+     *
+     * @param source Gambar asli hasil loadImage.
+     * @param width  Lebar saat digambar.
+     * @param height Tinggi saat digambar.
+     * @param gc     Konfigurasi layar tujuan.
+     */
+    public static Image getSprite(Image source, int width, int height, GraphicsConfiguration gc) {
+        return spriteCache.get(source, width, height, gc);
+    }
+
+    /**
+     * Menggambar sebuah sprite dari lembar atlas (satu permukaan sumber untuk semua sprite).
+     * Sprite dikemas ke atlas saat pertama kali diminta pada ukuran tersebut; jika tidak muat,
+     * dipakai sprite terpisah dari cache biasa.
+     */
+    public static void drawSprite(Graphics g, Image source, int x, int y, int width, int height,
+                                  GraphicsConfiguration gc) {
+        TextureAtlas.Region region = atlas.get(source, width, height, gc);
+        if (region != null) {
+            atlas.draw(g, region, x, y);
+        } else {
+            g.drawImage(spriteCache.get(source, width, height, gc), x, y, null);
+        }
     }
-}
\ No newline at end of file
+}
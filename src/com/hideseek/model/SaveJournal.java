@@ -0,0 +1,294 @@
+package com.hideseek.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Jurnal Simpan Lokal (Append-Only).
+ *
+ * Setiap simpanan progres ditulis dulu ke file lokal sebelum dikirim ke MySQL, sehingga progres
+ * tidak hilang walaupun database sedang mati atau aplikasi crash sebelum antrian terkirim.
+ * Saat aplikasi dibuka lagi, isi jurnal dibaca ulang ({@link #replay()}) dan dikirim ke database.
+ *
+ * Penulisan ke disk (fsync) tidak dilakukan per record: {@link #append(UserStats)} hanya menulis
+ * ke FileChannel, lalu {@link #sync()} memaksa semua record yang terkumpul ke disk sekaligus
+ * (dipanggil oleh thread penulis SaveQueue sebelum setiap batch).
+ *
+ * Format setiap record (big-endian):
+ * <pre>
+ *   int   panjang payload
+ *   int   CRC32 payload
+ *   short panjang username (byte UTF-8)
+ *   byte[] username
+ *   int   skor
+ *   int   peluru_meleset
+ *   int   sisa_peluru
+ * </pre>
+ * Record yang terpotong atau CRC-nya tidak cocok (crash di tengah penulisan) menandai akhir jurnal;
+ * sisa file setelahnya dibuang. Format record yang sama dipakai oleh {@link LogUserRepository}.
+ */
+public class SaveJournal {
+
+    // Jurnal ditulis ulang (hanya isi terbaru per user) jika melebihi ukuran ini
+    private static final long COMPACT_THRESHOLD_BYTES = 1L << 20;
+    static final int RECORD_HEADER_BYTES = 8;
+    static final int MIN_PAYLOAD_BYTES = 2 + 12;
+    static final int MAX_PAYLOAD_BYTES = 2 + 0xFFFF + 12;
+
+    private final Path file;
+    private FileChannel channel;
+    private boolean dirty = false; // Ada record yang belum di-fsync
+
+    // Dipegang selama fsync berjalan. clear/compactIfNeeded/close (yang menutup atau mengganti
+    // channel) mengambilnya dulu, sehingga menunggu fsync selesai; append() cukup memakai kunci
+    // objek ini dan tidak ikut menunggu. Urutan kunci selalu: syncLock lalu this.
+    private final Object syncLock = new Object();
+
+    // --- Metrik ---
+    private long appended = 0;
+    private long syncs = 0;
+
+    /**
+     * Membuka (atau membuat) file jurnal. Ekor yang rusak dibuang saat {@link #replay()}.
+     *
+     * @throws IOException Jika folder/file jurnal tidak bisa dibuat atau dibuka.
+     */
+    public SaveJournal(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = open(file);
+    }
+
+    /**
+     * Lokasi jurnal bawaan: ~/.hideseek/save-journal.log (bisa diganti dengan -Dhideseek.journalFile=...).
+     */
+    public static Path defaultFile() {
+        String custom = System.getProperty("hideseek.journalFile");
+        if (custom != null) {
+            return new File(custom).toPath();
+        }
+        return new File(System.getProperty("user.home"), ".hideseek" + File.separator + "save-journal.log").toPath();
+    }
+
+    /**
+     * Membaca seluruh jurnal dan mengembalikan stats TERAKHIR setiap user (urut kemunculan pertama).
+     * Jika ditemukan record rusak, file dipotong tepat sebelum record tersebut.
+     */
+    public synchronized LinkedHashMap<String, UserStats> replay() throws IOException {
+        LinkedHashMap<String, UserStats> latest = new LinkedHashMap<>();
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+
+        while (position + RECORD_HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length < MIN_PAYLOAD_BYTES || length > MAX_PAYLOAD_BYTES
+                    || position + RECORD_HEADER_BYTES + length > size) {
+                break; // Record terpotong
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + RECORD_HEADER_BYTES);
+            if (crc != crc32(payload.array(), 0, length)) {
+                break; // Isi rusak
+            }
+            payload.flip();
+            UserStats stats = decode(payload);
+            if (stats == null) break;
+
+            latest.remove(stats.getUsername()); // Pindah ke posisi terakhir: urutan = simpanan terbaru
+            latest.put(stats.getUsername(), stats);
+            position += RECORD_HEADER_BYTES + length;
+        }
+
+        if (position < size) {
+            System.out.println("Jurnal simpan: " + (size - position) + " byte rusak di akhir file dibuang");
+            channel.truncate(position);
+            channel.force(false);
+        }
+        channel.position(position);
+        return latest;
+    }
+
+    /**
+     * Menambahkan satu record ke akhir jurnal. Belum dijamin sampai ke disk sebelum {@link #sync()}.
+     */
+    public synchronized void append(UserStats stats) throws IOException {
+        ByteBuffer record = encode(stats);
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        dirty = true;
+        appended++;
+    }
+
+    /**
+     * Memaksa semua record yang sudah ditulis ke disk (satu fsync untuk banyak record).
+     */
+    public void sync() throws IOException {
+        synchronized (syncLock) {
+            FileChannel target;
+            synchronized (this) {
+                if (!dirty) return;
+                dirty = false;
+                target = channel;
+                syncs++;
+            }
+            // Di luar kunci objek: append() berikutnya tidak perlu menunggu fsync selesai.
+            // Channel tidak bisa ditutup/diganti selama syncLock dipegang.
+            try {
+                target.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    dirty = true; // Belum pasti di disk: coba lagi pada sync berikutnya
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Mengosongkan jurnal. Hanya boleh dipanggil jika semua isinya sudah tersimpan di database.
+     */
+    public void clear() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(false);
+                dirty = false;
+            }
+        }
+    }
+
+    /**
+     * Jika jurnal sudah terlalu besar, tulis ulang hanya berisi data yang masih perlu dikirim.
+     * File baru ditulis ke file sementara lalu dipindahkan secara atomik, jadi crash di tengah proses
+     * tetap menyisakan salah satu versi yang utuh.
+     *
+     * @param unsaved Stats terbaru setiap user yang belum tersimpan di database.
+     */
+    public void compactIfNeeded(Collection<UserStats> unsaved) throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                compactLocked(unsaved);
+            }
+        }
+    }
+
+    private void compactLocked(Collection<UserStats> unsaved) throws IOException {
+        if (channel.size() < COMPACT_THRESHOLD_BYTES) return;
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (UserStats stats : unsaved) {
+                ByteBuffer record = encode(stats);
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+            }
+            out.force(true);
+        }
+        channel.close();
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        channel = open(file);
+        channel.position(channel.size());
+        dirty = false;
+    }
+
+    public void close() {
+        synchronized (syncLock) {
+            synchronized (this) {
+                try {
+                    if (dirty) channel.force(false);
+                    channel.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    public Path getFile() { return file; }
+    public synchronized long getAppendedCount() { return appended; }
+    public synchronized long getSyncCount() { return syncs; }
+
+    // ============================ Detail Internal ============================
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Jurnal berakhir di tengah record");
+            position += read;
+        }
+    }
+
+    // --- Format record (dipakai bersama dengan LogUserRepository) ---
+
+    // Record utuh (header + payload), siap ditulis
+    static ByteBuffer encode(UserStats stats) {
+        byte[] name = stats.getUsername().getBytes(StandardCharsets.UTF_8);
+        int length = 2 + name.length + 12;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + length);
+        record.putInt(length);
+        record.putInt(0); // CRC diisi setelah payload ditulis
+        record.putShort((short) name.length);
+        record.put(name);
+        record.putInt(stats.getSkor());
+        record.putInt(stats.getPeluruMeleset());
+        record.putInt(stats.getSisaPeluru());
+        record.putInt(4, crc32(record.array(), RECORD_HEADER_BYTES, length));
+        record.flip();
+        return record;
+    }
+
+    // Membaca payload dari posisi buffer saat ini sampai limit-nya; null jika bentuknya tidak cocok
+    static UserStats decode(ByteBuffer payload) {
+        int nameLength = payload.getShort() & 0xFFFF;
+        if (payload.remaining() != nameLength + 12) return null;
+        byte[] name = new byte[nameLength];
+        payload.get(name);
+        return new UserStats(new String(name, StandardCharsets.UTF_8),
+                payload.getInt(), payload.getInt(), payload.getInt());
+    }
+
+    static int crc32(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    // CRC dari posisi sampai limit buffer (posisi buffer asli tidak berubah)
+    static int crc32(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,360 @@
+package com.hideseek.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Antrian Simpan Tertunda (Write-Behind).
+ *
+ * Menyimpan progres ke MySQL butuh round trip jaringan, dan tidak boleh membekukan Game Loop
+ * saat Game Over. Pemanggil cukup menitipkan stats ke antrian ini lalu langsung lanjut;
+ * thread penulis di latar belakang yang mengirimnya ke database.
+ *
+ * Aturan antrian:
+ * 1. Coalescing: beberapa simpanan yang belum terkirim untuk user yang sama digabung,
+ *    hanya data TERBARU yang ditulis.
+ * 2. Batching: penulis menunggu sebentar (linger) lalu mengirim beberapa user sekaligus
+ *    dalam satu batch (lihat {@link UserRepository#updateUserStatsBatch(List)}).
+ * 3. Bounded: jumlah user yang menunggu dibatasi. Jika penuh, pemanggil menunggu sampai ada
+ *    ruang (sangat jarang: butuh banyak user berbeda dalam waktu singkat).
+ * 4. Gagal kirim: data dikembalikan ke antrian (kecuali sudah ada yang lebih baru) dan dicoba
+ *    lagi setelah jeda. Saat aplikasi ditutup, sisa antrian dikirim lewat {@link #shutdown(long)}.
+ *
+ * 5. Jurnal lokal (opsional, lihat {@link SaveJournal}): setiap simpanan ditulis dulu ke file,
+ *    di-fsync sekali per batch, dan baru dihapus setelah database menerimanya. Jika database mati
+ *    atau aplikasi crash, isi jurnal dikirim ulang saat antrian dibuat kembali. Dengan jurnal,
+ *    submit tidak pernah menunggu database (batas antrian tidak berlaku, karena data sudah aman di disk).
+ *
+ * Selama belum tersimpan, data bisa dibaca lewat {@link #getUnsaved(String)} agar tampilan
+ * (misal: tabel skor) langsung menunjukkan hasil terbaru.
+ */
+public class SaveQueue {
+
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final int DEFAULT_MAX_BATCH = 32;
+    public static final long DEFAULT_LINGER_MILLIS = 50;
+    private static final long RETRY_DELAY_MILLIS = 1_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000; // Database mati lama: jangan spam percobaan
+
+    private static SaveQueue shared;
+
+    private final UserRepository repository;
+    private final SaveJournal journal; // null = tanpa jurnal lokal
+    private final int capacity;
+    private final int maxBatch;
+    private final long lingerMillis;
+
+    // Menunggu dikirim (urut kedatangan) & sedang dikirim; dijaga oleh kunci 'this'
+    private final LinkedHashMap<String, UserStats> pending = new LinkedHashMap<>();
+    private final Map<String, UserStats> inFlight = new HashMap<>();
+    private boolean accepting = true;
+    private int flushWaiters = 0; // > 0: ada yang menunggu flush, jeda linger dilewati
+    private final Thread writer;
+
+    // --- Metrik ---
+    private long submitted = 0;
+    private long coalesced = 0;
+    private long written = 0;
+    private long batches = 0;
+    private long failures = 0;
+    private long replayed = 0;
+
+    /**
+     * @param repository   Tujuan penulisan.
+     * @param capacity     Jumlah user berbeda yang boleh menunggu dikirim.
+     * @param maxBatch     Jumlah user maksimal per batch.
+     * @param lingerMillis Jeda sebelum mengirim, agar simpanan yang berdekatan ikut satu batch.
+     */
+    public SaveQueue(UserRepository repository, int capacity, int maxBatch, long lingerMillis) {
+        this(repository, null, capacity, maxBatch, lingerMillis);
+    }
+
+    /**
+     * @param journal Jurnal lokal (boleh null). Isinya langsung dimasukkan ke antrian untuk dikirim ulang.
+     */
+    public SaveQueue(UserRepository repository, SaveJournal journal, int capacity, int maxBatch, long lingerMillis) {
+        this.repository = repository;
+        this.journal = journal;
+        this.capacity = Math.max(1, capacity);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.lingerMillis = Math.max(0, lingerMillis);
+
+        if (journal != null) {
+            try {
+                pending.putAll(journal.replay());
+                replayed = pending.size();
+                if (replayed > 0) {
+                    System.out.println("Jurnal simpan: " + replayed + " progres belum tersimpan akan dikirim ulang");
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        writer = new Thread(this::runWriter, "save-writer");
+        writer.setDaemon(true); // Pengiriman terakhir dijamin oleh shutdown(), bukan oleh thread ini
+        writer.start();
+    }
+
+    /**
+     * Antrian bersama untuk seluruh aplikasi, ditulis lewat {@link UserRepository#create()}.
+     * Sisa antrian dikirim otomatis saat JVM berhenti (lihat DB.ensureShutdownHook),
+     * SEBELUM kolam koneksi ditutup.
+     *
+     * Memakai jurnal lokal di {@link SaveJournal#defaultFile()}, kecuali -Dhideseek.saveJournal=false
+     * atau penyimpanannya sendiri sudah file lokal (LogUserRepository).
+     */
+    public static synchronized SaveQueue shared() {
+        if (shared == null) {
+            UserRepository repository = UserRepository.create();
+            SaveJournal journal = null;
+            if (!(repository instanceof LogUserRepository)
+                    && !"false".equalsIgnoreCase(System.getProperty("hideseek.saveJournal"))) {
+                try {
+                    journal = new SaveJournal(SaveJournal.defaultFile());
+                } catch (IOException e) {
+                    System.out.println("Jurnal simpan tidak bisa dibuka, progres hanya disimpan ke database: "
+                            + e.getMessage());
+                }
+            }
+            shared = new SaveQueue(repository, journal, DEFAULT_CAPACITY,
+                    DEFAULT_MAX_BATCH, DEFAULT_LINGER_MILLIS);
+            DB.ensureShutdownHook();
+        }
+        return shared;
+    }
+
+    /**
+     * Mengirim sisa antrian bersama (jika pernah dibuat). Dipanggil oleh shutdown hook.
+     */
+    static synchronized void shutdownShared(long timeoutMillis) {
+        if (shared != null) {
+            shared.shutdown(timeoutMillis);
+        }
+    }
+
+    /**
+     * Menitipkan stats terbaru seorang pemain untuk disimpan. Langsung kembali.
+     */
+    public synchronized void submit(String username, int score, int missed, int ammo) {
+        UserStats stats = new UserStats(username, score, missed, ammo);
+        appendToJournal(stats);
+
+        if (!accepting) {
+            // Sudah shutdown: tulis langsung agar data tidak hilang (jika gagal, masih ada di jurnal)
+            syncJournal();
+            boolean ok = repository.updateUserStatsBatch(Collections.singletonList(stats));
+            if (ok && pending.isEmpty() && inFlight.isEmpty()) {
+                clearJournal();
+            }
+            return;
+        }
+        while (journal == null && !pending.containsKey(username) && pending.size() >= capacity) {
+            try {
+                wait(); // Penuh: tunggu penulis mengosongkan antrian
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        submitted++;
+        if (pending.remove(username) != null) {
+            coalesced++; // Data lama yang belum terkirim diganti data baru
+        }
+        pending.put(username, stats);
+        notifyAll();
+    }
+
+    /**
+     * Data yang belum tersimpan di database untuk user ini, atau null jika tidak ada.
+     */
+    public synchronized UserStats getUnsaved(String username) {
+        UserStats stats = pending.get(username);
+        return stats != null ? stats : inFlight.get(username);
+    }
+
+    /**
+     * Menunggu sampai semua data terkirim (atau batas waktu habis).
+     *
+     * @return true jika antrian sudah kosong.
+     */
+    public synchronized boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        flushWaiters++;
+        notifyAll(); // Lewati jeda linger
+        try {
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return false;
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            flushWaiters--;
+        }
+    }
+
+    /**
+     * Berhenti menerima antrian baru (simpanan berikutnya ditulis langsung), lalu mengirim sisa antrian.
+     */
+    public boolean shutdown(long timeoutMillis) {
+        synchronized (this) {
+            accepting = false;
+            notifyAll();
+        }
+        boolean drained = flush(timeoutMillis);
+        syncJournal();
+        if (!drained) {
+            synchronized (this) {
+                System.out.println("Sebagian progres belum tersimpan saat aplikasi ditutup: " + pending.keySet()
+                        + (journal != null ? " (aman di jurnal lokal, dikirim saat aplikasi dibuka lagi)" : ""));
+            }
+        }
+        return drained;
+    }
+
+    // --- Metrik ---
+
+    public synchronized int getPendingCount() { return pending.size() + inFlight.size(); }
+    public synchronized long getSubmittedCount() { return submitted; }
+    public synchronized long getCoalescedCount() { return coalesced; }
+    public synchronized long getWrittenCount() { return written; }
+    public synchronized long getBatchCount() { return batches; }
+    public synchronized long getFailureCount() { return failures; }
+    public synchronized long getReplayedCount() { return replayed; }
+    public SaveJournal getJournal() { return journal; }
+
+    // ============================ Thread Penulis ============================
+
+    private void runWriter() {
+        long retryDelay = RETRY_DELAY_MILLIS;
+        while (true) {
+            List<UserStats> batch = takeBatch();
+            if (batch == null) return;
+
+            syncJournal(); // Satu fsync untuk semua simpanan yang masuk selama jeda linger
+            boolean ok = repository.updateUserStatsBatch(batch);
+            synchronized (this) {
+                for (UserStats stats : batch) {
+                    inFlight.remove(stats.getUsername());
+                    if (!ok && !pending.containsKey(stats.getUsername())) {
+                        pending.put(stats.getUsername(), stats); // Coba lagi, kecuali sudah ada data lebih baru
+                    }
+                }
+                if (ok) {
+                    written += batch.size();
+                    batches++;
+                } else {
+                    failures++;
+                }
+                if (pending.isEmpty() && inFlight.isEmpty()) {
+                    clearJournal(); // Semua isi jurnal sudah ada di database
+                } else {
+                    compactJournal();
+                }
+                notifyAll();
+            }
+
+            if (ok) {
+                retryDelay = RETRY_DELAY_MILLIS;
+            } else {
+                sleepQuietly(retryDelay);
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    // Menunggu ada data, memberi jeda linger, lalu memindahkan satu batch ke inFlight
+    private synchronized List<UserStats> takeBatch() {
+        try {
+            while (pending.isEmpty()) {
+                wait();
+            }
+            // Jeda linger: kumpulkan simpanan lain, kecuali batch sudah penuh atau ada yang menunggu flush
+            long deadline = System.currentTimeMillis() + lingerMillis;
+            while (accepting && flushWaiters == 0 && pending.size() < maxBatch) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) break;
+                wait(remaining);
+            }
+        } catch (InterruptedException e) {
+            return null;
+        }
+
+        List<UserStats> batch = new ArrayList<>();
+        Iterator<Map.Entry<String, UserStats>> it = pending.entrySet().iterator();
+        while (it.hasNext() && batch.size() < maxBatch) {
+            Map.Entry<String, UserStats> entry = it.next();
+            it.remove();
+            inFlight.put(entry.getKey(), entry.getValue());
+            batch.add(entry.getValue());
+        }
+        notifyAll(); // Ada ruang lagi untuk submit yang menunggu
+        return batch;
+    }
+
+    // --- Jurnal: kegagalan disk hanya dicatat, antrian tetap berjalan seperti tanpa jurnal ---
+
+    private void appendToJournal(UserStats stats) {
+        if (journal == null) return;
+        try {
+            journal.append(stats);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void syncJournal() {
+        if (journal == null) return;
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Dipanggil dengan kunci 'this', agar tidak ada submit yang menyelip di antara cek & hapus
+    private void clearJournal() {
+        if (journal == null) return;
+        try {
+            journal.clear();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Dipanggil dengan kunci 'this'. Data di pending lebih baru dari inFlight, jadi ditulis belakangan.
+    private void compactJournal() {
+        if (journal == null) return;
+        LinkedHashMap<String, UserStats> unsaved = new LinkedHashMap<>(inFlight);
+        for (UserStats stats : pending.values()) {
+            unsaved.remove(stats.getUsername());
+            unsaved.put(stats.getUsername(), stats);
+        }
+        try {
+            journal.compactIfNeeded(unsaved.values());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,17 +1,111 @@
 package com.hideseek.model;
 
 import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Utilitas Pemutar Suara.
  * * Kelas sederhana untuk menangani efek suara (SFX) dalam game.
  * Menggunakan library bawaan Java Sound API.
+ *
+ * Semua file WAV di folder assets/Sounds didekode SEKALI menjadi sampel PCM 16-bit mono
+ * di memori (dipakai bersama oleh semua instance).
+ *
+ * Pemutaran memakai mixer perangkat lunak: setiap efek yang berbunyi adalah sebuah "voice"
+ * (posisi baca di dalam sampel). Thread mixer menjumlahkan semua voice aktif ke satu buffer
+ * kecil, lalu menulisnya ke SATU SourceDataLine. Akibatnya:
+ * 1. Berapa pun laser yang ditembakkan, hanya ada satu line audio yang terbuka.
+ * 2. Latensi dapat diprediksi (sebesar buffer line, default {@link #DEFAULT_BUFFER_MILLIS} ms).
+ * 3. Volume per efek bisa diatur ({@link #setVolume(String, float)}) tanpa line tambahan.
+ *
+ * Jumlah voice dibatasi (polifoni); jika semua sedang berbunyi, voice tertua "dicuri".
+ * Line dan thread mixer dilepas lewat {@link #close()}.
  */
 public class Sound {
 
+    public static final int DEFAULT_MAX_VOICES = 8;
+    public static final int DEFAULT_BUFFER_MILLIS = 20;
+
+    // Format internal mixer (semua aset bawaan sudah dalam format ini)
+    private static final AudioFormat MIX_FORMAT = new AudioFormat(44100f, 16, 1, true, false);
+
+    private static final String SOUND_DIR = "assets/Sounds/";
+    private static final String[] PRELOADED_FILES = {
+            "sfx_laser1.wav", "sfx_laser2.wav", "sfx_twoTone.wav", "sfx_lose.wav"
+    };
+
+    // Data PCM hasil dekode, dibagi oleh semua instance Sound
+    private static final Map<String, Sample> samples = new HashMap<>();
+
+    private static class Sample {
+        final short[] data;
+        volatile float volume = 1.0f;
+
+        Sample(short[] data) {
+            this.data = data;
+        }
+    }
+
+    // Satu efek yang sedang berbunyi di dalam mixer
+    private static class Voice {
+        Sample sample;
+        int position;
+        boolean active;
+        long startedAt; // Untuk memilih voice tertua saat mencuri
+    }
+
+    private final Voice[] voices;       // Juga dipakai sebagai kunci antara play() dan thread mixer
+    private final int bufferMillis;
+    private int activeVoices = 0;
+
+    private SourceDataLine line;
+    private Thread mixerThread;
+    private boolean mixing = false;
+    private boolean available = true;   // false jika perangkat audio tidak tersedia
+
     public Sound() {
+        this(DEFAULT_MAX_VOICES, Integer.getInteger("hideseek.audioBufferMs", DEFAULT_BUFFER_MILLIS));
+    }
+
+    /**
+     * @param maxVoices    Batas polifoni (jumlah efek yang boleh berbunyi bersamaan).
+     * @param bufferMillis Ukuran buffer line audio dalam milidetik (lebih kecil = latensi lebih rendah,
+     *                     tetapi lebih rawan putus-putus jika CPU sibuk).
+     */
+    public Sound(int maxVoices, int bufferMillis) {
+        this.voices = new Voice[Math.max(1, maxVoices)];
+        for (int i = 0; i < voices.length; i++) {
+            voices[i] = new Voice();
+        }
+        this.bufferMillis = Math.max(5, bufferMillis);
+        preload();
+    }
+
+    /**
+     * Mendekode semua efek bawaan ke memori (hanya dikerjakan sekali per aplikasi).
+     */
+    public static void preload() {
+        for (String filename : PRELOADED_FILES) {
+            getSample(filename);
+        }
+    }
+
+    /**
+     * Mengatur volume sebuah efek (berlaku juga untuk voice yang sedang berbunyi).
+     *
+     * @param filename Nama file di folder assets/Sounds.
+     * @param volume   0.0 (senyap) sampai 1.0 (asli); nilai di atas 1.0 memperkeras.
+     */
+    public static void setVolume(String filename, float volume) {
+        Sample sample = getSample(filename);
+        if (sample != null) {
+            sample.volume = Math.max(0f, volume);
+        }
     }
 
     /**
@@ -19,21 +113,195 @@ public class Sound {
      * @param filename Nama file di folder assets/Sounds.
      */
     public void play(String filename) {
+        Sample sample = getSample(filename);
+        if (sample == null) return;
+
+        synchronized (voices) {
+            if (!available || !ensureMixer()) return;
+
+            Voice voice = pickVoice();
+            if (!voice.active) {
+                activeVoices++;
+            }
+            voice.sample = sample;
+            voice.position = 0;
+            voice.active = true;
+            voice.startedAt = System.nanoTime();
+            voices.notifyAll(); // Bangunkan mixer jika sedang menganggur
+        }
+    }
+
+    /**
+     * Menghentikan semua suara, menghentikan thread mixer, dan menutup line audio.
+     */
+    public void close() {
+        Thread thread;
+        SourceDataLine closing;
+        synchronized (voices) {
+            mixing = false;
+            for (Voice voice : voices) {
+                voice.active = false;
+                voice.sample = null;
+            }
+            activeVoices = 0;
+            voices.notifyAll();
+            thread = mixerThread;
+            mixerThread = null;
+            closing = line;
+            line = null;
+        }
+        if (closing != null) {
+            closing.close(); // Juga melepaskan thread mixer yang sedang menunggu di write()
+        }
+        if (thread != null) {
+            try {
+                thread.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int getBufferMillis() {
+        return bufferMillis;
+    }
+
+    public int getActiveVoiceCount() {
+        synchronized (voices) {
+            return activeVoices;
+        }
+    }
+
+    // Membuka line & menyalakan thread mixer saat efek pertama diputar (dipanggil dengan kunci voices)
+    private boolean ensureMixer() {
+        if (mixing) return true;
+        int frameBytes = MIX_FORMAT.getFrameSize();
+        int bufferFrames = (int) (MIX_FORMAT.getSampleRate() * bufferMillis / 1000);
         try {
-            File soundFile = new File("assets/Sounds/" + filename);
+            line = AudioSystem.getSourceDataLine(MIX_FORMAT);
+            line.open(MIX_FORMAT, bufferFrames * frameBytes);
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            // Tidak ada perangkat/line audio (misal: server tanpa sound card).
+            // Suara dimatikan agar pemanggil tidak ikut berhenti karena exception.
+            System.out.println("Audio tidak tersedia, efek suara dimatikan: " + e.getMessage());
+            available = false;
+            line = null;
+            return false;
+        }
+
+        // Setengah buffer per putaran: satu bagian diputar, satu bagian disiapkan
+        int chunkFrames = Math.max(64, bufferFrames / 2);
+        SourceDataLine target = line;
+        mixing = true;
+        mixerThread = new Thread(() -> runMixer(target, chunkFrames), "audio-mixer");
+        mixerThread.setDaemon(true);
+        mixerThread.start();
+        return true;
+    }
+
+    // Urutan prioritas: voice yang diam -> voice tertua (dicuri)
+    private Voice pickVoice() {
+        Voice oldest = voices[0];
+        for (Voice voice : voices) {
+            if (!voice.active) {
+                return voice;
+            }
+            if (voice.startedAt < oldest.startedAt) {
+                oldest = voice;
+            }
+        }
+        return oldest;
+    }
+
+    private void runMixer(SourceDataLine target, int chunkFrames) {
+        int[] mix = new int[chunkFrames];
+        byte[] out = new byte[chunkFrames * 2];
+
+        while (true) {
+            synchronized (voices) {
+                // Tidak ada yang berbunyi: tidur sampai play() atau close()
+                while (mixing && activeVoices == 0) {
+                    try {
+                        voices.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!mixing) return;
+
+                Arrays.fill(mix, 0);
+                for (Voice voice : voices) {
+                    if (!voice.active) continue;
+                    short[] data = voice.sample.data;
+                    float volume = voice.sample.volume;
+                    int n = Math.min(chunkFrames, data.length - voice.position);
+                    for (int i = 0; i < n; i++) {
+                        mix[i] += (int) (data[voice.position + i] * volume);
+                    }
+                    voice.position += n;
+                    if (voice.position >= data.length) {
+                        voice.active = false;
+                        activeVoices--;
+                    }
+                }
+            }
+
+            // Jepit ke rentang 16-bit lalu ubah ke byte little-endian
+            for (int i = 0; i < chunkFrames; i++) {
+                int v = mix[i];
+                if (v > Short.MAX_VALUE) v = Short.MAX_VALUE;
+                else if (v < Short.MIN_VALUE) v = Short.MIN_VALUE;
+                out[2 * i] = (byte) v;
+                out[2 * i + 1] = (byte) (v >> 8);
+            }
+            // write() menunggu sampai buffer line punya ruang, sekaligus menjadi pengatur tempo mixer
+            target.write(out, 0, out.length);
+            if (!target.isOpen()) return;
+        }
+    }
+
+    private static Sample getSample(String filename) {
+        synchronized (samples) {
+            if (samples.containsKey(filename)) {
+                return samples.get(filename); // Bisa null: file hilang/rusak tidak dicoba ulang
+            }
+            Sample sample = decode(filename);
+            samples.put(filename, sample);
+            return sample;
+        }
+    }
+
+    // Mendekode WAV dan mengonversinya ke format mixer (16-bit mono little-endian)
+    private static Sample decode(String filename) {
+        File soundFile = new File(SOUND_DIR + filename);
+        if (!soundFile.exists()) {
+            System.out.println("File suara hilang: " + filename);
+            return null;
+        }
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(soundFile);
+             AudioInputStream pcm = source.getFormat().matches(MIX_FORMAT)
+                     ? source : AudioSystem.getAudioInputStream(MIX_FORMAT, source)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = pcm.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
 
-            if (soundFile.exists()) {
-                AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(soundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioInputStream);
-                clip.start();
-            } else {
-                System.out.println("File suara hilang: " + filename);
+            byte[] raw = bytes.toByteArray();
+            short[] data = new short[raw.length / 2];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (short) ((raw[2 * i] & 0xFF) | (raw[2 * i + 1] << 8));
             }
+            return new Sample(data);
         } catch (UnsupportedAudioFileException e) {
             System.out.println("Format audio tidak didukung. Gunakan .WAV");
-        } catch (IOException | LineUnavailableException e) {
+        } catch (IllegalArgumentException e) {
+            System.out.println("Format audio tidak bisa dikonversi: " + filename);
+        } catch (IOException e) {
             e.printStackTrace();
         }
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package com.hideseek.model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pengirim Efek Suara Asinkron.
+ *
+ * Memutar suara (memilih voice, membuka line) bisa memakan waktu dan tidak boleh
+ * dikerjakan di dalam tick Game Loop. Game Loop cukup menitipkan nama efek ke antrian
+ * berkapasitas tetap, lalu thread audio khusus yang memanggil {@link Sound#play(String)}.
+ *
+ * Aturan antrian:
+ * 1. Non-blocking: jika antrian penuh, efek dibuang (dihitung sebagai dropped).
+ * 2. Dedupe per tick: efek yang sama berkali-kali dalam satu tick (misal: 20 alien menembak
+ *    bersamaan) hanya dikirim sekali (sisanya dihitung sebagai deduped).
+ *
+ * {@link #post(String)} dan {@link #beginTick()} hanya boleh dipanggil dari satu thread (Game Loop).
+ */
+public class SoundDispatcher {
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    // Jumlah efek berbeda yang diingat per tick (lebih dari cukup untuk 4 efek bawaan)
+    private static final int MAX_EFFECTS_PER_TICK = 16;
+
+    private final Sound sound;
+    private final ArrayBlockingQueue<String> queue;
+    private Thread audioThread;
+    private volatile boolean running = false;
+
+    // Efek yang sudah dikirim pada tick ini (milik Game Loop)
+    private final String[] postedThisTick = new String[MAX_EFFECTS_PER_TICK];
+    private int postedThisTickCount = 0;
+
+    // --- Metrik ---
+    private volatile long posted = 0;
+    private volatile long deduped = 0;
+    private volatile long dropped = 0;
+    private volatile long played = 0;
+
+    public SoundDispatcher(Sound sound) {
+        this(sound, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param sound    Pemutar suara yang dipakai oleh thread audio.
+     * @param capacity Kapasitas antrian efek.
+     */
+    public SoundDispatcher(Sound sound, int capacity) {
+        this.sound = sound;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    /**
+     * Menyalakan thread audio. Efek yang dititipkan sebelumnya langsung diputar.
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        audioThread = new Thread(this::runAudioLoop, "audio-dispatch");
+        audioThread.setDaemon(true);
+        audioThread.start();
+    }
+
+    /**
+     * Menandai awal tick baru: ingatan dedupe dikosongkan.
+     */
+    public void beginTick() {
+        for (int i = 0; i < postedThisTickCount; i++) {
+            postedThisTick[i] = null;
+        }
+        postedThisTickCount = 0;
+    }
+
+    /**
+     * Menitipkan efek untuk diputar. Tidak pernah menunggu.
+     *
+     * @param filename Nama file di folder assets/Sounds.
+     */
+    public void post(String filename) {
+        for (int i = 0; i < postedThisTickCount; i++) {
+            if (postedThisTick[i].equals(filename)) {
+                deduped++;
+                return;
+            }
+        }
+
+        if (!queue.offer(filename)) {
+            dropped++;
+            return;
+        }
+        posted++;
+        if (postedThisTickCount < MAX_EFFECTS_PER_TICK) {
+            postedThisTick[postedThisTickCount++] = filename;
+        }
+    }
+
+    /**
+     * Menghentikan thread audio, membuang efek yang belum diputar, lalu melepas line audio.
+     */
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = audioThread;
+            audioThread = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        queue.clear();
+        sound.close();
+    }
+
+    // --- Metrik ---
+
+    public long getPostedCount() { return posted; }
+    public long getDedupedCount() { return deduped; }
+    public long getDroppedCount() { return dropped; }
+    public long getPlayedCount() { return played; }
+
+    private void runAudioLoop() {
+        while (running) {
+            try {
+                String filename = queue.take();
+                sound.play(filename);
+                played++;
+            } catch (InterruptedException e) {
+                return; // close() dipanggil
+            }
+        }
+    }
+}
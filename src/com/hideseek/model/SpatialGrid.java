@@ -0,0 +1,130 @@
+package com.hideseek.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grid Hash Spasial (Broadphase Tabrakan).
+ *
+ * Layar dibagi menjadi kotak-kotak (cell) berukuran sama. Setiap objek didaftarkan
+ * ke semua cell yang tersentuh hitbox-nya. Saat mencari tabrakan, kita cukup memeriksa
+ * objek di cell sekitar, bukan seluruh isi daftar. Dengan begitu biaya tiap tick tumbuh
+ * kira-kira linier terhadap jumlah objek, bukan kuadratik (peluru x alien).
+ *
+ * Objek di luar area grid tetap aman: posisinya "dijepit" ke cell paling pinggir.
+ *
+ * @param <T> Jenis objek yang disimpan (misal: Alien atau Obstacle).
+ */
+public class SpatialGrid<T extends GameElement> {
+
+    private static final int INITIAL_CELL_CAPACITY = 4;
+
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final List<ArrayList<T>> cells;
+
+    /**
+     * @param worldWidth  Lebar area permainan (piksel).
+     * @param worldHeight Tinggi area permainan (piksel).
+     * @param cellSize    Ukuran sisi satu cell. Idealnya sedikit lebih besar dari objek terbesar.
+     */
+    public SpatialGrid(int worldWidth, int worldHeight, int cellSize) {
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (worldWidth + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (worldHeight + cellSize - 1) / cellSize);
+        this.cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            // Kapasitas awal eksplisit: ArrayList kosong baru membuat array-nya saat add pertama,
+            // yang berarti alokasi di tengah tick setiap kali objek masuk ke cell baru
+            cells.add(new ArrayList<>(INITIAL_CELL_CAPACITY));
+        }
+    }
+
+    /**
+     * Mengosongkan grid tanpa membuang kapasitas cell (untuk dibangun ulang tiap tick).
+     */
+    public void clear() {
+        for (int i = 0; i < cells.size(); i++) {
+            cells.get(i).clear();
+        }
+    }
+
+    /**
+     * Mendaftarkan objek ke semua cell yang bersinggungan dengan hitbox-nya.
+     */
+    public void insert(T element) {
+        int minCol = column(element.getX());
+        int maxCol = column(element.getX() + element.getWidth() - 1);
+        int minRow = row(element.getY());
+        int maxRow = row(element.getY() + element.getHeight() - 1);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                cells.get(r * columns + c).add(element);
+            }
+        }
+    }
+
+    /**
+     * Menghapus objek dari grid.
+     * Posisi objek harus sama dengan saat {@link #insert(GameElement)} dipanggil.
+     */
+    public void remove(T element) {
+        int minCol = column(element.getX());
+        int maxCol = column(element.getX() + element.getWidth() - 1);
+        int minRow = row(element.getY());
+        int maxRow = row(element.getY() + element.getHeight() - 1);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                cells.get(r * columns + c).remove(element);
+            }
+        }
+    }
+
+    /**
+     * Mencari objek pertama yang benar-benar bertabrakan dengan objek penguji.
+     *
+     * @param probe Objek yang sedang dicek (misal: sebuah Peluru).
+     * @return Objek yang ditabrak, atau null jika tidak ada.
+     */
+    public T findFirst(GameElement probe) {
+        return findFirst(probe.getX(), probe.getY(), probe.getWidth(), probe.getHeight());
+    }
+
+    /**
+     * Versi primitif dari {@link #findFirst(GameElement)} untuk data yang tidak disimpan
+     * sebagai objek (misal: peluru di PackedBulletStore).
+     */
+    public T findFirst(int x, int y, int width, int height) {
+        int minCol = column(x);
+        int maxCol = column(x + width - 1);
+        int minRow = row(y);
+        int maxRow = row(y + height - 1);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                ArrayList<T> cell = cells.get(r * columns + c);
+                for (int i = 0; i < cell.size(); i++) {
+                    T candidate = cell.get(i);
+                    if (candidate.intersects(x, y, width, height)) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // Konversi koordinat piksel ke indeks cell (dijepit ke batas grid)
+    private int column(int px) {
+        int c = Math.floorDiv(px, cellSize);
+        return c < 0 ? 0 : (c >= columns ? columns - 1 : c);
+    }
+
+    private int row(int py) {
+        int r = Math.floorDiv(py, cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+}
@@ -0,0 +1,100 @@
+package com.hideseek.model;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Cache Sprite Siap-Gambar.
+ *
+ * Gambar hasil ImageIO.read sering bertipe "custom" atau berpalet (indexed), dan sebelumnya
+ * diskalakan ulang oleh drawImage(img, x, y, w, h) pada SETIAP frame. Kombinasi itu memaksa
+ * Java2D memakai jalur skala lambat yang tidak diakselerasi kartu grafis.
+ *
+ * Kelas ini mengonversi setiap aset SEKALI ke gambar yang kompatibel dengan layar
+ * (GraphicsConfiguration.createCompatibleImage) tepat pada ukuran gambarnya, sehingga
+ * Java2D bisa menyimpannya di memori grafis (managed image) dan menyalinnya tanpa skala.
+ * Jika konfigurasi layar berubah (misal: jendela pindah monitor), seluruh cache dibuang.
+ *
+ * Cache dipakai oleh satu thread render saja (EDT atau thread ActiveRenderer).
+ */
+public class SpriteCache {
+
+    // Satu aset bisa punya beberapa ukuran; disimpan sebagai rantai sederhana
+    private static class Entry {
+        final int width;
+        final int height;
+        final BufferedImage image;
+        final Entry next;
+
+        Entry(int width, int height, BufferedImage image, Entry next) {
+            this.width = width;
+            this.height = height;
+            this.image = image;
+            this.next = next;
+        }
+    }
+
+    private final Map<Image, Entry> entries = new IdentityHashMap<>();
+    private GraphicsConfiguration configuration;
+
+    /**
+     * Mengambil versi siap-gambar dari sebuah aset pada ukuran tertentu.
+     *
+     * @param source Gambar asli dari ResourceManager.
+     * @param width  Lebar saat digambar.
+     * @param height Tinggi saat digambar.
+     * @param gc     Konfigurasi layar tujuan (dari Graphics2D.getDeviceConfiguration()).
+     */
+    public Image get(Image source, int width, int height, GraphicsConfiguration gc) {
+        if (gc != configuration) {
+            invalidate();
+            configuration = gc;
+        }
+
+        Entry head = entries.get(source);
+        for (Entry e = head; e != null; e = e.next) {
+            if (e.width == width && e.height == height) {
+                return e.image;
+            }
+        }
+
+        BufferedImage sprite = createSprite(source, width, height, gc);
+        entries.put(source, new Entry(width, height, sprite, head));
+        return sprite;
+    }
+
+    /**
+     * Membuang semua sprite yang sudah dibuat (dipanggil saat konfigurasi layar berubah).
+     */
+    public void invalidate() {
+        for (Entry head : entries.values()) {
+            for (Entry e = head; e != null; e = e.next) {
+                e.image.flush();
+            }
+        }
+        entries.clear();
+    }
+
+    // Skala sekali dengan kualitas tinggi ke gambar yang kompatibel dengan layar
+    private static BufferedImage createSprite(Image source, int width, int height, GraphicsConfiguration gc) {
+        BufferedImage sprite = gc.createCompatibleImage(Math.max(1, width), Math.max(1, height),
+                Transparency.TRANSLUCENT);
+        Graphics2D g = sprite.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return sprite;
+    }
+}
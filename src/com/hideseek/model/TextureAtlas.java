@@ -0,0 +1,196 @@
+package com.hideseek.model;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Atlas Tekstur (Sprite Sheet).
+ *
+ * Semua sprite (alien, meteor, player) dikemas ke SATU gambar besar yang kompatibel dengan
+ * layar, masing-masing sudah diskalakan ke ukuran gambarnya. Setiap sprite dicatat sebagai
+ * potongan persegi panjang (Region) di dalam lembar tersebut.
+ *
+ * Keuntungannya: saat menggambar, Java2D selalu membaca dari permukaan sumber yang sama
+ * (tidak berganti tekstur di setiap drawImage), dan overhead memori per-gambar hanya ada sekali.
+ *
+ * Pengemasan memakai algoritma "rak" (shelf): sprite disusun dari kiri ke kanan, dan jika
+ * baris penuh, rak baru dibuka di bawahnya. Jika lembar penuh, tingginya digandakan
+ * (isi lama disalin, koordinat tidak berubah) sampai batas {@link #MAX_SHEET_SIZE}.
+ *
+ * Atlas dipakai oleh satu thread render saja (EDT atau thread ActiveRenderer).
+ */
+public class TextureAtlas {
+
+    public static final int MAX_SHEET_SIZE = 2048;
+
+    // Jarak antar sprite agar filter tepi tidak "bocor" ke sprite tetangga
+    private static final int PADDING = 1;
+
+    /**
+     * Potongan satu sprite di dalam lembar atlas.
+     */
+    public static class Region {
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final Region next; // Ukuran lain dari aset yang sama
+
+        Region(int x, int y, int width, int height, Region next) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.next = next;
+        }
+
+        public int getX() { return x; }
+        public int getY() { return y; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+    }
+
+    private final int sheetWidth;
+    private final Map<Image, Region> regions = new IdentityHashMap<>();
+    private GraphicsConfiguration configuration;
+    private BufferedImage sheet;
+
+    // Posisi rak yang sedang diisi
+    private int shelfX = 0;
+    private int shelfY = 0;
+    private int shelfHeight = 0;
+
+    /**
+     * @param sheetWidth Lebar lembar atlas (tinggi awal sama, bertambah jika perlu).
+     */
+    public TextureAtlas(int sheetWidth) {
+        this.sheetWidth = Math.min(sheetWidth, MAX_SHEET_SIZE);
+    }
+
+    /**
+     * Mengemas sebuah aset pada ukuran tertentu (jika belum ada) dan mengembalikan potongannya.
+     *
+     * @return Region di dalam lembar, atau null jika sprite tidak muat di atlas.
+     */
+    public Region get(Image source, int width, int height, GraphicsConfiguration gc) {
+        if (gc != configuration) {
+            invalidate();
+            configuration = gc;
+        }
+
+        Region head = regions.get(source);
+        for (Region r = head; r != null; r = r.next) {
+            if (r.width == width && r.height == height) {
+                return r;
+            }
+        }
+
+        Region packed = pack(source, width, height, head);
+        if (packed != null) {
+            regions.put(source, packed);
+        }
+        return packed;
+    }
+
+    /**
+     * Menggambar sebuah potongan atlas tanpa skala (ukuran sudah tepat saat dikemas).
+     */
+    public void draw(Graphics g, Region r, int x, int y) {
+        g.drawImage(sheet, x, y, x + r.width, y + r.height,
+                r.x, r.y, r.x + r.width, r.y + r.height, null);
+    }
+
+    public BufferedImage getSheet() {
+        return sheet;
+    }
+
+    public int getRegionCount() {
+        int count = 0;
+        for (Region head : regions.values()) {
+            for (Region r = head; r != null; r = r.next) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Membuang lembar atlas (dipanggil saat konfigurasi layar berubah).
+     */
+    public void invalidate() {
+        if (sheet != null) {
+            sheet.flush();
+            sheet = null;
+        }
+        regions.clear();
+        shelfX = 0;
+        shelfY = 0;
+        shelfHeight = 0;
+    }
+
+    // Mencari tempat kosong di rak, lalu menggambar sprite yang sudah diskalakan ke sana
+    private Region pack(Image source, int width, int height, Region head) {
+        int w = Math.max(1, width);
+        int h = Math.max(1, height);
+        if (w + PADDING > sheetWidth || h + PADDING > MAX_SHEET_SIZE) {
+            return null;
+        }
+        if (sheet == null) {
+            sheet = configuration.createCompatibleImage(sheetWidth, sheetWidth, Transparency.TRANSLUCENT);
+        }
+
+        // Rak saat ini penuh: buka rak baru di bawahnya
+        if (shelfX + w + PADDING > sheetWidth) {
+            shelfY += shelfHeight;
+            shelfX = 0;
+            shelfHeight = 0;
+        }
+        // Lembar penuh: gandakan tingginya
+        while (shelfY + h + PADDING > sheet.getHeight()) {
+            if (!grow()) {
+                return null;
+            }
+        }
+
+        Region region = new Region(shelfX, shelfY, w, h, head);
+        Graphics2D g = sheet.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, region.x, region.y, w, h, null);
+        } finally {
+            g.dispose();
+        }
+
+        shelfX += w + PADDING;
+        shelfHeight = Math.max(shelfHeight, h + PADDING);
+        return region;
+    }
+
+    private boolean grow() {
+        int newHeight = sheet.getHeight() * 2;
+        if (newHeight > MAX_SHEET_SIZE) {
+            return false;
+        }
+        BufferedImage bigger = configuration.createCompatibleImage(sheetWidth, newHeight, Transparency.TRANSLUCENT);
+        Graphics2D g = bigger.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(sheet, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        sheet.flush();
+        sheet = bigger;
+        return true;
+    }
+}
@@ -1,100 +1,71 @@
 package com.hideseek.model;
 
-import java.sql.ResultSet;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Repository Pengguna.
- * * Kelas ini bertindak sebagai perantara (Middleman) antara Database dan Aplikasi.
- * Di sinilah semua sintaks SQL (SELECT, INSERT, UPDATE) ditulis.
- * Tujuannya agar ViewModel tetap bersih dan tidak tercemar oleh kode SQL.
+ * Kontrak Penyimpanan Data Pemain.
+ *
+ * ViewModel dan SaveQueue hanya mengenal interface ini, sehingga tempat penyimpanannya
+ * bisa ditukar tanpa mengubah logika aplikasi:
+ * - {@link MySqlUserRepository}: tabel tbenefit di server MySQL (default).
+ * - {@link LogUserRepository}: file log lokal tanpa server database (-Dhideseek.storage=embedded).
+ *
+ * Semua metode menelan error penyimpanan (dicetak ke konsol) dan mengembalikan nilai default,
+ * agar permainan tetap jalan walaupun penyimpanan sedang bermasalah. Pengecualian:
+ * {@link #registerOrLoad(String)} mengembalikan null, karena stats awal yang salah (nol)
+ * akan menimpa progres asli saat disimpan.
  */
-public class UserRepository {
+public interface UserRepository {
 
-    // Mengambil daftar semua pemain untuk Highscore (Leaderboard)
-    public List<UserStats> getAllUsers() {
-        List<UserStats> userList = new ArrayList<>();
-        DB db = null;
-        try {
-            db = new DB();
-            String sql = "SELECT * FROM tbenefit ORDER BY skor DESC";
-            ResultSet rs = db.createQuery(sql);
-
-            while (rs.next()) {
-                // Mengonversi baris data mentah menjadi objek Java
-                UserStats user = new UserStats(
-                        rs.getString("username"),
-                        rs.getInt("skor"),
-                        rs.getInt("peluru_meleset"),
-                        rs.getInt("sisa_peluru")
-                );
-                userList.add(user);
+    /**
+     * Membuat repository sesuai -Dhideseek.storage ("mysql" atau "embedded").
+     * Jika penyimpanan embedded gagal dibuka, kembali ke MySQL.
+     */
+    static UserRepository create() {
+        String storage = System.getProperty("hideseek.storage", "mysql");
+        if ("embedded".equalsIgnoreCase(storage)) {
+            try {
+                return LogUserRepository.shared();
+            } catch (Exception e) {
+                System.out.println("Penyimpanan lokal tidak bisa dibuka, memakai MySQL: " + e.getMessage());
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            if (db != null) db.closeConnection();
+        } else if (!"mysql".equalsIgnoreCase(storage)) {
+            System.out.println("Nilai hideseek.storage tidak dikenal: " + storage + ", memakai MySQL");
         }
-        return userList;
+        return new MySqlUserRepository();
     }
 
-    // Mengambil data spesifik satu pemain (untuk fitur Load Game)
-    public UserStats getUserByUsername(String username) {
-        UserStats stats = new UserStats(username, 0, 0, 0); // Default jika user baru
-        DB db = null;
-        try {
-            db = new DB();
-            String sql = "SELECT * FROM tbenefit WHERE username = '" + username + "'";
-            ResultSet rs = db.createQuery(sql);
-            if (rs.next()) {
-                stats.setSkor(rs.getInt("skor"));
-                stats.setPeluruMeleset(rs.getInt("peluru_meleset"));
-                stats.setSisaPeluru(rs.getInt("sisa_peluru"));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            if (db != null) db.closeConnection();
-        }
-        return stats;
-    }
+    /**
+     * Semua pemain, diurutkan dari skor tertinggi (Leaderboard).
+     */
+    List<UserStats> getAllUsers();
 
-    // Mendaftarkan username baru ke sistem jika belum ada
-    public void registerUser(String username) {
-        DB db = null;
-        try {
-            db = new DB();
-            String checkSql = "SELECT * FROM tbenefit WHERE username = '" + username + "'";
-            ResultSet rs = db.createQuery(checkSql);
+    /**
+     * Stats satu pemain (semua 0 jika belum terdaftar).
+     */
+    UserStats getUserByUsername(String username);
 
-            if (!rs.next()) {
-                String insertSql = "INSERT INTO tbenefit (username, skor, peluru_meleset, sisa_peluru) " +
-                        "VALUES ('" + username + "', 0, 0, 0)";
-                db.createUpdate(insertSql);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            if (db != null) db.closeConnection();
-        }
-    }
+    /**
+     * Mendaftarkan username baru jika belum ada (tidak mengubah pemain lama).
+     */
+    void registerUser(String username);
 
-    // Menyimpan progres permainan terakhir (Save Game)
-    public void updateUserStats(String username, int score, int missed, int ammo) {
-        DB db = null;
-        try {
-            db = new DB();
-            String sql = "UPDATE tbenefit SET " +
-                    "skor = " + score + ", " +
-                    "peluru_meleset = " + missed + ", " +
-                    "sisa_peluru = " + ammo + " " +
-                    "WHERE username = '" + username + "'";
-            db.createUpdate(sql);
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            if (db != null) db.closeConnection();
-        }
-    }
-}
\ No newline at end of file
+    /**
+     * Mendaftarkan pemain jika belum ada, lalu mengembalikan stats terbarunya.
+     *
+     * @return Stats pemain, atau null jika penyimpanan tidak bisa dibaca (stats awal TIDAK diketahui).
+     */
+    UserStats registerOrLoad(String username);
+
+    /**
+     * Menyimpan progres beberapa pemain sekaligus (dipakai oleh SaveQueue).
+     *
+     * @return true jika seluruh batch tersimpan; false jika gagal (tidak ada yang tersimpan).
+     */
+    boolean updateUserStatsBatch(List<UserStats> batch);
+
+    /**
+     * Menyimpan progres permainan terakhir satu pemain (Save Game).
+     */
+    void updateUserStats(String username, int score, int missed, int ammo);
+}
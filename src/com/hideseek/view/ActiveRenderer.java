@@ -0,0 +1,166 @@
+package com.hideseek.view;
+
+import com.hideseek.viewmodel.GameViewModel;
+import com.hideseek.viewmodel.RenderSnapshot;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mesin Render Aktif (Active Rendering).
+ *
+ * Pada mode biasa, layar digambar ulang lewat repaint() yang antriannya diatur sendiri oleh
+ * Swing (RepaintManager), sehingga waktu tampil setiap frame tidak bisa dipastikan.
+ * Pada mode aktif, sebuah thread render khusus:
+ * 1. Menunggu sinyal frame baru dari Game Loop.
+ * 2. Menggambar snapshot ke back buffer VolatileImage (disimpan di memori kartu grafis).
+ * 3. Menampilkan hasilnya secara eksplisit lewat BufferStrategy milik sebuah Canvas.
+ *
+ * Aktifkan dengan opsi JVM: -Dhideseek.activeRendering=true
+ */
+public class ActiveRenderer implements Runnable {
+
+    // Batas waktu tunggu sinyal frame (agar thread tetap responsif saat dihentikan)
+    private static final long MAX_WAIT_NANOS = 50_000_000L;
+
+    private final GameCanvas owner;
+    private final Canvas surface;
+
+    private volatile GameViewModel viewModel;
+    private volatile boolean running = false;
+    private Thread renderThread;
+
+    private VolatileImage backBuffer;
+    private long framesPresented = 0;
+
+    public ActiveRenderer(GameCanvas owner) {
+        this.owner = owner;
+        this.surface = new Canvas();
+        this.surface.setIgnoreRepaint(true); // Canvas ini tidak lagi digambar oleh AWT
+        this.surface.setBackground(Color.BLACK);
+    }
+
+    /**
+     * Komponen heavyweight tempat frame ditampilkan.
+     */
+    public Canvas getSurface() {
+        return surface;
+    }
+
+    public void start(GameViewModel viewModel) {
+        this.viewModel = viewModel;
+        if (running) return;
+        running = true;
+        renderThread = new Thread(this, "ActiveRenderer");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (renderThread != null) {
+            LockSupport.unpark(renderThread);
+            try {
+                renderThread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            renderThread = null;
+        }
+    }
+
+    /**
+     * Sinyal dari Game Loop bahwa snapshot baru sudah diterbitkan.
+     */
+    public void requestFrame() {
+        Thread thread = renderThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public long getFramesPresented() {
+        return framesPresented;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            LockSupport.parkNanos(this, MAX_WAIT_NANOS);
+            if (!running) break;
+
+            GameViewModel vm = viewModel;
+            if (vm == null || !surface.isDisplayable() || surface.getWidth() <= 0) continue;
+
+            RenderSnapshot snapshot = vm.acquireSnapshot();
+            if (snapshot == null) continue;
+
+            renderAndPresent(snapshot);
+        }
+        if (backBuffer != null) {
+            backBuffer.flush();
+            backBuffer = null;
+        }
+    }
+
+    private void renderAndPresent(RenderSnapshot snapshot) {
+        BufferStrategy strategy = surface.getBufferStrategy();
+        if (strategy == null) {
+            surface.createBufferStrategy(2);
+            strategy = surface.getBufferStrategy();
+            if (strategy == null) return;
+        }
+
+        int width = surface.getWidth();
+        int height = surface.getHeight();
+        GraphicsConfiguration gc = surface.getGraphicsConfiguration();
+        if (gc == null) return;
+
+        // 1. Gambar ke back buffer VolatileImage. Back buffer menyimpan frame sebelumnya, jadi cukup
+        //    persegi panjang kotor yang disalin; kecuali jika buffer baru atau isinya hilang
+        //    (misal: mode layar berubah), maka disalin utuh dan diulang sampai berhasil.
+        boolean fullBlit = false;
+        do {
+            if (backBuffer == null || backBuffer.getWidth() != width || backBuffer.getHeight() != height) {
+                if (backBuffer != null) backBuffer.flush();
+                backBuffer = gc.createCompatibleVolatileImage(width, height);
+                fullBlit = true;
+            } else {
+                int status = backBuffer.validate(gc);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    backBuffer.flush();
+                    backBuffer = gc.createCompatibleVolatileImage(width, height);
+                    fullBlit = true;
+                } else if (status == VolatileImage.IMAGE_RESTORED) {
+                    fullBlit = true;
+                }
+            }
+            Graphics2D g = backBuffer.createGraphics();
+            try {
+                owner.renderFrame(g, snapshot, width, height, fullBlit);
+            } finally {
+                g.dispose();
+            }
+            fullBlit = true; // Jika isi hilang di tengah jalan, percobaan berikutnya disalin utuh
+        } while (backBuffer.contentsLost());
+
+        // 2. Tampilkan secara eksplisit lewat BufferStrategy (salinan VRAM ke VRAM; isi buffer
+        //    strategy setelah flip tidak dijamin, jadi bagian ini selalu disalin utuh)
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    g.drawImage(backBuffer, 0, 0, null);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+        framesPresented++;
+    }
+}
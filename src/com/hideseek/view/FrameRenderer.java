@@ -0,0 +1,507 @@
+package com.hideseek.view;
+
+import com.hideseek.model.Obstacle;
+import com.hideseek.model.ResourceManager;
+import com.hideseek.viewmodel.RenderSnapshot;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Penyusun Frame (Frame Composer) dengan dukungan Dirty-Rectangle.
+ *
+ * Layar terdiri dari tiga lapisan:
+ * 1. Lapisan statis  : background + batu (beserta label HP). Di-cache dalam satu gambar
+ *                      dan hanya digambar ulang saat versi batu di snapshot berubah.
+ * 2. Lapisan dinamis : alien, player, peluru (berubah hampir setiap frame).
+ * 3. HUD             : dari {@link HudLayer}.
+ *
+ * Mode Full Redraw menggambar ketiga lapisan utuh langsung ke target setiap frame.
+ * Mode Dirty-Rectangle menyimpan frame terakhir di gambar offscreen, dan bekerja dua langkah:
+ * 1. {@link #compose}: hanya area yang berubah yang disusun ulang di gambar offscreen, yaitu
+ *    kotak lama + kotak baru setiap objek bergerak (dan area HUD jika angkanya berubah).
+ *    Area tersebut dipetakan ke ubin (tile) 32x32, dan ubin yang bersebelahan dalam satu baris
+ *    digabung menjadi satu persegi panjang "kotor".
+ * 2. {@link #blit}: hanya persegi panjang kotor yang disalin ke layar (bukan seluruh frame).
+ *
+ * Objek bergerak dikelompokkan per baris ubin setiap frame, sehingga satu persegi panjang kotor
+ * hanya memeriksa objek di barisnya sendiri, bukan seluruh isi snapshot.
+ *
+ * Jumlah piksel yang disentuh per frame dicatat agar kedua mode bisa dibandingkan. Pada mode
+ * dirty-rectangle, area yang disalin ke layar sama dengan area yang disusun ulang, jadi setiap
+ * piksel dihitung sekali saja (di compose), tidak ditambah lagi oleh blit.
+ *
+ * Sprite alien, meteor, dan player diambil dari satu lembar atlas ({@link ResourceManager#drawSprite}).
+ * Background tidak ikut dikemas: ukurannya selebar layar dan hanya disalin saat lapisan statis dibangun ulang.
+ */
+public class FrameRenderer {
+
+    private static final int TILE_SIZE = 32;
+    private static final int BULLET_SIZE = 10;
+
+    private final HudLayer hudLayer = new HudLayer(Obstacle.MAX_HP);
+    private Image backgroundImage;
+    private boolean dirtyRendering = true;
+    // Mode yang diminta (boleh diubah dari EDT), diterapkan di awal render berikutnya
+    private volatile boolean requestedDirtyRendering = true;
+
+    // --- Lapisan statis & frame terakhir ---
+    private GraphicsConfiguration config;
+    private int surfaceWidth;
+    private int surfaceHeight;
+    private BufferedImage staticLayer;
+    private BufferedImage frame;
+    private int staticVersion;
+    private boolean staticValid = false;
+    private boolean frameValid = false;
+
+    // --- Peta ubin kotor ---
+    private int tileColumns;
+    private int tileRows;
+    private boolean[] dirtyTiles = new boolean[0];
+
+    // --- Kotak objek dinamis pada frame sebelumnya (x, y, w, h berurutan) ---
+    private int[] previousRects = new int[256];
+    private int previousRectCount = 0;
+
+    // --- Persegi panjang kotor hasil compose terakhir (x, y, w, h berurutan) ---
+    private int[] dirtyRects = new int[64];
+    private int dirtyRectCount = 0;
+
+    // --- Objek bergerak per baris ubin (indeks alien 0..A-1, peluru A..A+B-1), diurutkan per baris ---
+    private int[] rowStart = new int[1];
+    private int[] rowFill = new int[1];
+    private int[] rowItems = new int[256];
+
+    // --- Metrik ---
+    private volatile long lastPixelsTouched = 0;
+    private volatile long totalPixelsTouched = 0;
+    private volatile long framesRendered = 0;
+
+    public void setBackgroundImage(Image backgroundImage) {
+        this.backgroundImage = backgroundImage;
+        this.staticValid = false;
+    }
+
+    /**
+     * Saklar runtime: true = dirty-rectangle, false = gambar ulang penuh setiap frame.
+     */
+    public void setDirtyRendering(boolean enabled) {
+        requestedDirtyRendering = enabled;
+    }
+
+    public boolean isDirtyRendering() {
+        return requestedDirtyRendering;
+    }
+
+    /**
+     * Menyusun satu frame lalu menampilkannya ke target.
+     * Mode dirty-rectangle hanya menyalin persegi panjang kotor, jadi target harus masih berisi
+     * frame sebelumnya; jika tidak (target baru/isinya hilang), gunakan fullBlit = true.
+     */
+    public void render(Graphics2D g, RenderSnapshot s, int width, int height, String username, boolean fullBlit) {
+        if (!requestedDirtyRendering) {
+            renderFull(g, s, width, height, username);
+            return;
+        }
+        compose(g.getDeviceConfiguration(), s, width, height, username);
+        if (fullBlit) {
+            blit(g, 0, 0, width, height);
+        } else {
+            for (int r = 0; r < dirtyRectCount; r++) {
+                int k = r * 4;
+                blit(g, dirtyRects[k], dirtyRects[k + 1], dirtyRects[k + 2], dirtyRects[k + 3]);
+            }
+        }
+    }
+
+    /**
+     * Mode pembanding: semua lapisan digambar utuh langsung ke target.
+     */
+    public void renderFull(Graphics2D g, RenderSnapshot s, int width, int height, String username) {
+        applyRequestedMode();
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        ensureSurfaces(gc, width, height);
+        prepareLayers(gc, s, username);
+
+        g.drawImage(staticLayer, 0, 0, null);
+        drawDynamic(g, s);
+        hudLayer.drawHud(g);
+
+        rememberDynamicRects(s);
+        countFrame((long) width * height);
+    }
+
+    /**
+     * Langkah 1 mode dirty-rectangle: memperbarui gambar offscreen dari snapshot dan mencatat
+     * persegi panjang yang berubah (lihat {@link #getDirtyRectCount()}).
+     */
+    public void compose(GraphicsConfiguration gc, RenderSnapshot s, int width, int height, String username) {
+        applyRequestedMode();
+        ensureSurfaces(gc, width, height);
+        boolean hudChanged = prepareLayers(gc, s, username);
+
+        long pixels;
+        Graphics2D fg = frame.createGraphics();
+        try {
+            if (!frameValid) {
+                fg.drawImage(staticLayer, 0, 0, null);
+                drawDynamic(fg, s);
+                hudLayer.drawHud(fg);
+                frameValid = true;
+                dirtyRectCount = 0;
+                addDirtyRect(0, 0, width, height);
+                pixels = (long) width * height;
+            } else {
+                pixels = repaintDirtyRegions(fg, s, hudChanged);
+            }
+        } finally {
+            fg.dispose();
+        }
+
+        rememberDynamicRects(s);
+        countFrame(pixels);
+    }
+
+    /**
+     * Langkah 2 mode dirty-rectangle: menyalin satu area frame offscreen ke target.
+     * Jika frame belum pernah disusun, area tersebut diisi hitam.
+     */
+    public void blit(Graphics g, int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) return;
+        if (frame == null || !frameValid) {
+            g.setColor(Color.BLACK);
+            g.fillRect(x, y, w, h);
+            return;
+        }
+        g.drawImage(frame, x, y, x + w, y + h, x, y, x + w, y + h, null);
+    }
+
+    /**
+     * true jika frame offscreen berukuran (width x height) sudah tersusun dan bisa langsung disalin.
+     */
+    public boolean hasFrame(int width, int height) {
+        return frameValid && dirtyRendering == requestedDirtyRendering
+                && width == surfaceWidth && height == surfaceHeight;
+    }
+
+    // Persegi panjang kotor dari compose terakhir
+    public int getDirtyRectCount() { return dirtyRectCount; }
+    public int getDirtyX(int i) { return dirtyRects[i * 4]; }
+    public int getDirtyY(int i) { return dirtyRects[i * 4 + 1]; }
+    public int getDirtyWidth(int i) { return dirtyRects[i * 4 + 2]; }
+    public int getDirtyHeight(int i) { return dirtyRects[i * 4 + 3]; }
+
+    // --- Metrik Piksel ---
+
+    public long getLastPixelsTouched() { return lastPixelsTouched; }
+
+    public double getAveragePixelsTouched() {
+        return framesRendered == 0 ? 0.0 : (double) totalPixelsTouched / framesRendered;
+    }
+
+    public void resetMetrics() {
+        lastPixelsTouched = 0;
+        totalPixelsTouched = 0;
+        framesRendered = 0;
+    }
+
+    // ============================ Detail Internal ============================
+
+    // Saklar mode dari EDT diterapkan di sini (frame berikutnya disusun ulang penuh)
+    private void applyRequestedMode() {
+        if (requestedDirtyRendering != dirtyRendering) {
+            dirtyRendering = requestedDirtyRendering;
+            frameValid = false;
+            resetMetrics();
+        }
+    }
+
+    // Membangun ulang lapisan statis jika batu berubah; true jika angka HUD berubah
+    private boolean prepareLayers(GraphicsConfiguration gc, RenderSnapshot s, String username) {
+        if (!staticValid || s.getObstacleVersion() != staticVersion) {
+            rebuildStaticLayer(s);
+        }
+        return hudLayer.update(gc, surfaceWidth, username, s.getScore(), s.getAmmo(), s.getAmmoMissed());
+    }
+
+    private void countFrame(long pixels) {
+        lastPixelsTouched = pixels;
+        totalPixelsTouched += pixels;
+        framesRendered++;
+    }
+
+    // Membuat ulang gambar cache jika ukuran layar atau konfigurasi grafis berubah
+    private void ensureSurfaces(GraphicsConfiguration gc, int width, int height) {
+        if (staticLayer != null && gc == config && width == surfaceWidth && height == surfaceHeight) {
+            return;
+        }
+        if (staticLayer != null) staticLayer.flush();
+        if (frame != null) frame.flush();
+
+        config = gc;
+        surfaceWidth = width;
+        surfaceHeight = height;
+        staticLayer = gc.createCompatibleImage(Math.max(1, width), Math.max(1, height));
+        frame = gc.createCompatibleImage(Math.max(1, width), Math.max(1, height));
+        staticValid = false;
+        frameValid = false;
+
+        tileColumns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        dirtyTiles = new boolean[Math.max(1, tileColumns * tileRows)];
+    }
+
+    private void rebuildStaticLayer(RenderSnapshot s) {
+        Graphics2D sg = staticLayer.createGraphics();
+        try {
+            if (backgroundImage != null) {
+                sg.drawImage(ResourceManager.getSprite(backgroundImage, surfaceWidth, surfaceHeight, config), 0, 0, null);
+            } else {
+                sg.setColor(Color.BLACK);
+                sg.fillRect(0, 0, surfaceWidth, surfaceHeight);
+            }
+
+            for (int i = 0; i < s.getObstacleCount(); i++) {
+                int ox = s.getObstacleX(i), oy = s.getObstacleY(i);
+                int ow = s.getObstacleWidth(i), oh = s.getObstacleHeight(i);
+                Image img = s.getObstacleImage(i);
+                if (img != null) ResourceManager.drawSprite(sg, img, ox, oy, ow, oh, config);
+                else { sg.setColor(Color.GRAY); sg.fillRect(ox, oy, ow, oh); }
+
+                // Text HP Batu (diambil dari strip angka yang sudah jadi)
+                hudLayer.drawHp(sg, s.getObstacleHp(i), ox + 20, oy + 35);
+            }
+        } finally {
+            sg.dispose();
+        }
+        staticVersion = s.getObstacleVersion();
+        staticValid = true;
+        frameValid = false; // Batu berubah: frame berikutnya disusun ulang penuh
+    }
+
+    /**
+     * Menggambar semua objek bergerak (urutan: alien, player, peluru).
+     */
+    private void drawDynamic(Graphics2D g, RenderSnapshot s) {
+        for (int i = 0; i < s.getAlienCount(); i++) {
+            drawAlien(g, s, i);
+        }
+        drawPlayer(g, s);
+        for (int i = 0; i < s.getBulletCount(); i++) {
+            drawBullet(g, s, i);
+        }
+    }
+
+    /**
+     * Menggambar objek bergerak yang bersinggungan dengan area (cx, cy, cw, ch) di satu baris ubin.
+     * Hanya objek yang terdaftar di baris tersebut yang diperiksa (lihat {@link #bucketByRow}).
+     */
+    private void drawDynamicInRow(Graphics2D g, RenderSnapshot s, int row, int cx, int cy, int cw, int ch) {
+        int alienCount = s.getAlienCount();
+        boolean playerDrawn = false;
+        for (int n = rowStart[row]; n < rowStart[row + 1]; n++) {
+            int id = rowItems[n];
+            if (id < alienCount) {
+                if (overlaps(s.getAlienX(id), s.getAlienY(id), s.getAlienWidth(id), s.getAlienHeight(id),
+                        cx, cy, cw, ch)) {
+                    drawAlien(g, s, id);
+                }
+                continue;
+            }
+            if (!playerDrawn) { // Player di atas alien, di bawah peluru
+                drawPlayerIfOverlaps(g, s, cx, cy, cw, ch);
+                playerDrawn = true;
+            }
+            int b = id - alienCount;
+            if (overlaps(s.getBulletX(b), s.getBulletY(b), BULLET_SIZE, BULLET_SIZE, cx, cy, cw, ch)) {
+                drawBullet(g, s, b);
+            }
+        }
+        if (!playerDrawn) {
+            drawPlayerIfOverlaps(g, s, cx, cy, cw, ch);
+        }
+    }
+
+    private void drawAlien(Graphics2D g, RenderSnapshot s, int i) {
+        int ax = s.getAlienX(i), ay = s.getAlienY(i);
+        int aw = s.getAlienWidth(i), ah = s.getAlienHeight(i);
+        Image img = s.getAlienImage(i);
+        if (img != null) ResourceManager.drawSprite(g, img, ax, ay, aw, ah, config);
+        else { g.setColor(Color.RED); g.fillOval(ax, ay, aw, ah); }
+    }
+
+    private void drawPlayerIfOverlaps(Graphics2D g, RenderSnapshot s, int cx, int cy, int cw, int ch) {
+        if (overlaps(s.getPlayerX(), s.getPlayerY(), s.getPlayerWidth(), s.getPlayerHeight(), cx, cy, cw, ch)) {
+            drawPlayer(g, s);
+        }
+    }
+
+    private void drawPlayer(Graphics2D g, RenderSnapshot s) {
+        int px = s.getPlayerX(), py = s.getPlayerY();
+        int pw = s.getPlayerWidth(), ph = s.getPlayerHeight();
+        if (s.getPlayerImage() != null) ResourceManager.drawSprite(g, s.getPlayerImage(), px, py, pw, ph, config);
+        else { g.setColor(Color.YELLOW); g.fillOval(px, py, pw, ph); }
+    }
+
+    private void drawBullet(Graphics2D g, RenderSnapshot s, int i) {
+        if (s.isEnemyBullet(i)) g.setColor(Color.ORANGE);
+        else g.setColor(Color.CYAN);
+        g.fillOval(s.getBulletX(i), s.getBulletY(i), BULLET_SIZE, BULLET_SIZE);
+    }
+
+    /**
+     * Mengelompokkan alien & peluru per baris ubin (counting sort, tanpa alokasi pada kondisi stabil).
+     * Hasil: indeks objek di baris r ada pada rowItems[rowStart[r] .. rowStart[r + 1]).
+     */
+    private void bucketByRow(RenderSnapshot s) {
+        if (rowStart.length < tileRows + 1) {
+            rowStart = new int[tileRows + 1];
+            rowFill = new int[tileRows + 1];
+        }
+        Arrays.fill(rowStart, 0, tileRows + 1, 0);
+
+        // 1. Hitung jumlah objek per baris (disimpan sementara di rowStart[r + 1])
+        int alienCount = s.getAlienCount();
+        int total = alienCount + s.getBulletCount();
+        for (int id = 0; id < total; id++) {
+            int y = id < alienCount ? s.getAlienY(id) : s.getBulletY(id - alienCount);
+            int h = id < alienCount ? s.getAlienHeight(id) : BULLET_SIZE;
+            if (y + h <= 0) continue; // Di atas layar
+            int r1 = Math.min(tileRows - 1, (y + h - 1) / TILE_SIZE);
+            for (int r = Math.max(0, y / TILE_SIZE); r <= r1; r++) rowStart[r + 1]++;
+        }
+        // 2. Jumlah kumulatif = posisi awal setiap baris
+        for (int r = 0; r < tileRows; r++) {
+            rowStart[r + 1] += rowStart[r];
+        }
+        if (rowItems.length < rowStart[tileRows]) {
+            rowItems = new int[rowStart[tileRows] * 2];
+        }
+        // 3. Isi (indeks naik per baris: alien dulu, lalu peluru, sesuai urutan gambar)
+        System.arraycopy(rowStart, 0, rowFill, 0, tileRows);
+        for (int id = 0; id < total; id++) {
+            int y = id < alienCount ? s.getAlienY(id) : s.getBulletY(id - alienCount);
+            int h = id < alienCount ? s.getAlienHeight(id) : BULLET_SIZE;
+            if (y + h <= 0) continue;
+            int r1 = Math.min(tileRows - 1, (y + h - 1) / TILE_SIZE);
+            for (int r = Math.max(0, y / TILE_SIZE); r <= r1; r++) rowItems[rowFill[r]++] = id;
+        }
+    }
+
+    /**
+     * Memperbarui hanya ubin yang kotor di frame tersimpan.
+     *
+     * @return Jumlah piksel yang disentuh.
+     */
+    private long repaintDirtyRegions(Graphics2D fg, RenderSnapshot s, boolean hudChanged) {
+        Arrays.fill(dirtyTiles, false);
+
+        // Kotak lama (agar bekas objek terhapus) + kotak baru
+        for (int r = 0; r < previousRectCount; r++) {
+            int k = r * 4;
+            markDirty(previousRects[k], previousRects[k + 1], previousRects[k + 2], previousRects[k + 3]);
+        }
+        for (int i = 0; i < s.getAlienCount(); i++) {
+            markDirty(s.getAlienX(i), s.getAlienY(i), s.getAlienWidth(i), s.getAlienHeight(i));
+        }
+        markDirty(s.getPlayerX(), s.getPlayerY(), s.getPlayerWidth(), s.getPlayerHeight());
+        for (int i = 0; i < s.getBulletCount(); i++) {
+            markDirty(s.getBulletX(i), s.getBulletY(i), BULLET_SIZE, BULLET_SIZE);
+        }
+        if (hudChanged) {
+            markDirty(0, 0, surfaceWidth, hudLayer.getHudHeight());
+        }
+
+        // Gabungkan ubin kotor yang berjajar dalam satu baris menjadi satu persegi panjang
+        bucketByRow(s);
+        dirtyRectCount = 0;
+        long pixels = 0;
+        for (int row = 0; row < tileRows; row++) {
+            int col = 0;
+            while (col < tileColumns) {
+                if (!dirtyTiles[row * tileColumns + col]) {
+                    col++;
+                    continue;
+                }
+                int start = col;
+                while (col < tileColumns && dirtyTiles[row * tileColumns + col]) col++;
+
+                int x = start * TILE_SIZE;
+                int y = row * TILE_SIZE;
+                int w = Math.min(col * TILE_SIZE, surfaceWidth) - x;
+                int h = Math.min(y + TILE_SIZE, surfaceHeight) - y;
+
+                fg.setClip(x, y, w, h);
+                fg.drawImage(staticLayer, x, y, x + w, y + h, x, y, x + w, y + h, null);
+                drawDynamicInRow(fg, s, row, x, y, w, h);
+                if (y < hudLayer.getHudHeight()) {
+                    hudLayer.drawHud(fg);
+                }
+                addDirtyRect(x, y, w, h);
+                pixels += (long) w * h;
+            }
+        }
+        fg.setClip(null);
+        return pixels;
+    }
+
+    private void addDirtyRect(int x, int y, int w, int h) {
+        int k = dirtyRectCount * 4;
+        if (k + 4 > dirtyRects.length) {
+            dirtyRects = Arrays.copyOf(dirtyRects, dirtyRects.length * 2);
+        }
+        dirtyRects[k] = x;
+        dirtyRects[k + 1] = y;
+        dirtyRects[k + 2] = w;
+        dirtyRects[k + 3] = h;
+        dirtyRectCount++;
+    }
+
+    private void markDirty(int x, int y, int w, int h) {
+        int x0 = Math.max(0, x);
+        int y0 = Math.max(0, y);
+        int x1 = Math.min(surfaceWidth, x + w);
+        int y1 = Math.min(surfaceHeight, y + h);
+        if (x0 >= x1 || y0 >= y1) return; // Di luar layar
+
+        int c0 = x0 / TILE_SIZE, c1 = (x1 - 1) / TILE_SIZE;
+        int r0 = y0 / TILE_SIZE, r1 = (y1 - 1) / TILE_SIZE;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                dirtyTiles[r * tileColumns + c] = true;
+            }
+        }
+    }
+
+    // Menyimpan kotak objek dinamis frame ini untuk dihapus pada frame berikutnya
+    private void rememberDynamicRects(RenderSnapshot s) {
+        int needed = (s.getAlienCount() + s.getBulletCount() + 1) * 4;
+        if (previousRects.length < needed) {
+            previousRects = new int[needed * 2];
+        }
+        int k = 0;
+        for (int i = 0; i < s.getAlienCount(); i++) {
+            previousRects[k++] = s.getAlienX(i);
+            previousRects[k++] = s.getAlienY(i);
+            previousRects[k++] = s.getAlienWidth(i);
+            previousRects[k++] = s.getAlienHeight(i);
+        }
+        previousRects[k++] = s.getPlayerX();
+        previousRects[k++] = s.getPlayerY();
+        previousRects[k++] = s.getPlayerWidth();
+        previousRects[k++] = s.getPlayerHeight();
+        for (int i = 0; i < s.getBulletCount(); i++) {
+            previousRects[k++] = s.getBulletX(i);
+            previousRects[k++] = s.getBulletY(i);
+            previousRects[k++] = BULLET_SIZE;
+            previousRects[k++] = BULLET_SIZE;
+        }
+        previousRectCount = k / 4;
+    }
+
+    private static boolean overlaps(int x, int y, int w, int h, int cx, int cy, int cw, int ch) {
+        return x < cx + cw && y < cy + ch && cx < x + w && cy < y + h;
+    }
+}
@@ -1,14 +1,10 @@
 package com.hideseek.view;
 
-import com.hideseek.model.Alien;
-import com.hideseek.model.Bullet;
-import com.hideseek.model.Obstacle;
-import com.hideseek.model.Player;
 import com.hideseek.model.UserStats;
 import com.hideseek.model.ResourceManager;
 import com.hideseek.viewmodel.GameEventListener;
 import com.hideseek.viewmodel.GameViewModel;
-import com.hideseek.viewmodel.MenuViewModel;
+import com.hideseek.viewmodel.RenderSnapshot;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -21,6 +17,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Kelas View yang bertanggung jawab untuk rendering visual dan menangkap input.
@@ -36,9 +34,22 @@ public class GameCanvas extends JPanel implements GameEventListener, KeyListener
     private List<Image> meteorImages;
     private Image playerImage;
 
+    // Selesai saat semua aset di atas sudah didekode
+    private CompletableFuture<Void> assetsReady;
+
     // Data UI
     private String currentUsername;
 
+    // Penyusun frame (lapisan statis, objek bergerak, HUD) dengan dukungan dirty-rectangle
+    private final FrameRenderer frameRenderer = new FrameRenderer();
+
+    // Mode render aktif (BufferStrategy + VolatileImage), null jika memakai repaint() biasa
+    private ActiveRenderer activeRenderer;
+
+    // Mode biasa + dirty-rectangle: true selama penyusunan frame sudah dijadwalkan di EDT
+    private final AtomicBoolean composeScheduled = new AtomicBoolean(false);
+    private final Runnable composeTask = this::composeDirtyFrame;
+
     public GameCanvas(GameWindow parentWindow) {
         this.parentWindow = parentWindow;
         this.setFocusable(true);
@@ -48,108 +59,199 @@ public class GameCanvas extends JPanel implements GameEventListener, KeyListener
         this.addKeyListener(this);
         this.addMouseListener(this); // Wajib ada untuk klik menembak
 
-        loadAssets();
+        // Dirty-rectangle aktif secara default; -Dhideseek.dirtyRendering=false untuk gambar ulang penuh
+        frameRenderer.setDirtyRendering(!"false".equalsIgnoreCase(System.getProperty("hideseek.dirtyRendering")));
+
+        // Mode render aktif: frame ditampilkan oleh thread render ke sebuah Canvas heavyweight.
+        // Canvas itu menutupi panel ini, jadi input juga harus didengar dari sana.
+        if (Boolean.getBoolean("hideseek.activeRendering")) {
+            activeRenderer = new ActiveRenderer(this);
+            Canvas surface = activeRenderer.getSurface();
+            surface.setFocusable(true);
+            surface.addKeyListener(this);
+            surface.addMouseListener(this);
+            this.setLayout(new BorderLayout());
+            this.add(surface, BorderLayout.CENTER);
+        }
+
+        assetsReady = loadAssets();
     }
 
-    private void loadAssets() {
-        // Menggunakan ResourceManager (Lebih Rapi & Strict OOP)
-        this.backgroundImage = ResourceManager.loadBackgroundImage();
-        this.playerImage = ResourceManager.loadPlayerImage();
-        this.alienImages = ResourceManager.loadAlienImages();
-        this.meteorImages = ResourceManager.loadMeteorImages();
+    /**
+     * Memulai pemuatan aset di latar belakang (semua PNG didekode paralel oleh ResourceManager).
+     * Konstruktor langsung kembali, sehingga jendela & menu bisa tampil tanpa menunggu dekode.
+     */
+    private CompletableFuture<Void> loadAssets() {
+        CompletableFuture<Image> background = ResourceManager.loadBackgroundImageAsync();
+        CompletableFuture<Image> player = ResourceManager.loadPlayerImageAsync();
+        CompletableFuture<List<Image>> aliens = ResourceManager.loadAlienImagesAsync();
+        CompletableFuture<List<Image>> meteors = ResourceManager.loadMeteorImagesAsync();
+
+        return CompletableFuture.allOf(background, player, aliens, meteors).thenRun(() -> {
+            this.backgroundImage = background.join();
+            this.playerImage = player.join();
+            this.alienImages = aliens.join();
+            this.meteorImages = meteors.join();
+        });
+    }
+
+    public boolean isAssetsReady() {
+        return assetsReady.isDone();
+    }
+
+    /**
+     * Menjalankan aksi di EDT setelah semua aset permainan selesai dimuat
+     * (langsung jika sudah siap).
+     */
+    public void whenAssetsReady(Runnable action) {
+        if (assetsReady.isDone()) {
+            action.run();
+        } else {
+            assetsReady.whenComplete((done, error) -> SwingUtilities.invokeLater(action));
+        }
     }
 
     /**
      * Memulai sesi permainan baru.
+     *
+     * @param username  Nama pemain.
+     * @param userStats Stats awal pemain (hasil MenuViewModel.registerOrLoad), tidak diambil ulang dari DB.
+     *                  null jika tidak bisa dimuat: sesi dimainkan tanpa menyimpan progres.
      */
-    public void startNewGame(String username) {
+    public void startNewGame(String username, UserStats userStats) {
         this.currentUsername = username;
+        assetsReady.join(); // Biasanya sudah selesai (lihat whenAssetsReady); join menjamin gambar terlihat di EDT
+        frameRenderer.setBackgroundImage(backgroundImage);
 
-        // 1. Ambil Stats Awal (Hanya untuk inisialisasi ViewModel)
-        // MenuViewModel di sini hanya dipakai sebagai 'Data Fetcher', bukan untuk logika game.
-        MenuViewModel menuVM = new MenuViewModel();
-        UserStats userStats = menuVM.getUserStats(username);
-
-        // 2. Buat ViewModel Baru
+        // 1. Buat ViewModel Baru
         // Kita kirim 'username' agar ViewModel bisa melakukan Auto-Save saat Game Over.
         this.viewModel = new GameViewModel(this, alienImages, meteorImages, playerImage, userStats, username);
 
-        // 3. Start
+        // 2. Start
         this.viewModel.startGame();
-        this.requestFocusInWindow();
+        if (activeRenderer != null) {
+            activeRenderer.start(viewModel);
+        }
+        focusInput();
     }
 
     public void stopGame() {
         if (viewModel != null) {
             viewModel.stopGame();
         }
+        if (activeRenderer != null) {
+            activeRenderer.stop();
+        }
+    }
+
+    /**
+     * Meminta fokus keyboard ke komponen yang benar-benar menerima input
+     * (Canvas milik ActiveRenderer pada mode aktif, atau panel ini sendiri).
+     */
+    public void focusInput() {
+        if (activeRenderer != null) {
+            activeRenderer.getSurface().requestFocusInWindow();
+        } else {
+            this.requestFocusInWindow();
+        }
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        if (viewModel == null) return;
+        // Pada mode aktif, snapshot hanya boleh dibaca oleh thread render
+        if (viewModel == null || activeRenderer != null) {
+            super.paintComponent(g);
+            return;
+        }
+        int width = getWidth(), height = getHeight();
+
+        // Dirty-rectangle: frame sudah disusun oleh composeDirtyFrame, cukup salin area clip
+        // (yaitu gabungan persegi panjang kotor yang diminta lewat repaint(x, y, w, h))
+        if (frameRenderer.isDirtyRendering() && frameRenderer.hasFrame(width, height)) {
+            blitClip(g, width, height);
+            return;
+        }
 
-        // --- LAYER 1: Background ---
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        // Ambil potret dunia terbaru (tidak pernah setengah jadi, tidak mengunci Game Loop)
+        RenderSnapshot s = viewModel.acquireSnapshot();
+        if (s == null) {
+            super.paintComponent(g);
+            return;
+        }
+        if (frameRenderer.isDirtyRendering()) {
+            frameRenderer.compose(((Graphics2D) g).getDeviceConfiguration(), s, width, height, username());
+            blitClip(g, width, height);
         } else {
-            g.setColor(Color.BLACK);
-            g.fillRect(0, 0, getWidth(), getHeight());
+            frameRenderer.renderFull((Graphics2D) g, s, width, height, username()); // Menimpa seluruh panel
         }
+    }
 
-        // --- LAYER 2: Objek Game ---
-        // Batu
-        for (Obstacle obs : viewModel.getObstacles()) {
-            if (obs.getImage() != null) g.drawImage(obs.getImage(), obs.getX(), obs.getY(), obs.getWidth(), obs.getHeight(), this);
-            else { g.setColor(Color.GRAY); g.fillRect(obs.getX(), obs.getY(), obs.getWidth(), obs.getHeight()); }
+    private void blitClip(Graphics g, int width, int height) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) frameRenderer.blit(g, 0, 0, width, height);
+        else frameRenderer.blit(g, clip.x, clip.y, clip.width, clip.height);
+    }
 
-            // Text HP Batu
-            g.setColor(Color.WHITE); g.setFont(new Font("Arial", Font.BOLD, 12));
-            g.drawString(String.valueOf(obs.getHp()), obs.getX() + 20, obs.getY() + 35);
+    /**
+     * Mode biasa + dirty-rectangle (di EDT): menyusun frame dari snapshot terbaru,
+     * lalu meminta Swing menggambar ulang hanya persegi panjang yang berubah.
+     */
+    private void composeDirtyFrame() {
+        composeScheduled.set(false);
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (viewModel == null || gc == null || !frameRenderer.isDirtyRendering()) {
+            repaint();
+            return;
         }
+        RenderSnapshot s = viewModel.acquireSnapshot();
+        if (s == null) return;
 
-        // Alien
-        for (Alien a : viewModel.getAliens()) {
-            if (a.getImage() != null) g.drawImage(a.getImage(), a.getX(), a.getY(), a.getWidth(), a.getHeight(), this);
-            else { g.setColor(Color.RED); g.fillOval(a.getX(), a.getY(), a.getWidth(), a.getHeight()); }
+        frameRenderer.compose(gc, s, getWidth(), getHeight(), username());
+        for (int i = 0; i < frameRenderer.getDirtyRectCount(); i++) {
+            repaint(frameRenderer.getDirtyX(i), frameRenderer.getDirtyY(i),
+                    frameRenderer.getDirtyWidth(i), frameRenderer.getDirtyHeight(i));
         }
+    }
+
+    /**
+     * Menggambar satu frame dari sebuah snapshot untuk ActiveRenderer (mode aktif).
+     *
+     * @param fullBlit true jika isi target tidak lagi berisi frame sebelumnya (buffer baru/hilang).
+     */
+    void renderFrame(Graphics g, RenderSnapshot s, int width, int height, boolean fullBlit) {
+        frameRenderer.render((Graphics2D) g, s, width, height, username(), fullBlit);
+    }
 
-        // Player
-        Player p = viewModel.getPlayer();
-        if (p.getImage() != null) g.drawImage(p.getImage(), p.getX(), p.getY(), p.getWidth(), p.getHeight(), this);
-        else { g.setColor(Color.YELLOW); g.fillOval(p.getX(), p.getY(), p.getWidth(), p.getHeight()); }
+    private String username() {
+        return currentUsername != null ? currentUsername : "Guest";
+    }
 
-        // Peluru
-        for (Bullet b : viewModel.getBullets()) {
-            if (b.isEnemyBullet()) g.setColor(Color.ORANGE);
-            else g.setColor(Color.CYAN);
-            g.fillOval(b.getX(), b.getY(), 10, 10);
-        }
+    // --- Metrik Render (untuk membandingkan mode dirty-rectangle dan penuh) ---
 
-        // --- LAYER 3: HUD (Interface) ---
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Segoe UI", Font.BOLD, 14));
-        // Baris 1: Username
-        g.drawString("Player: " + (currentUsername != null ? currentUsername : "Guest"), 15, 25);
-        // Baris 2: Skor
-        g.drawString("Skor: " + p.getScore(), 15, 45);
-        // Baris 3: Sisa Peluru
-        g.drawString("Peluru: " + p.getAmmo(), 15, 65);
-        // Baris 4: Peluru Meleset
-        g.drawString("Meleset: " + p.getAmmoMissed(), 15, 85);
+    public boolean isDirtyRendering() { return frameRenderer.isDirtyRendering(); }
 
-        // Instruksi
-        g.drawString("[WASD / Panah] Bergerak", 580, 25);
-        g.drawString("[KLIK KIRI] Tembak", 580, 45);
-        g.drawString("[ESC] Keluar", 580, 65);
-    }
+    /**
+     * Rata-rata piksel yang disentuh per frame sejak mode render terakhir diganti.
+     */
+    public double getAveragePixelsTouched() { return frameRenderer.getAveragePixelsTouched(); }
+
+    public long getLastPixelsTouched() { return frameRenderer.getLastPixelsTouched(); }
 
     // --- GAME EVENT LISTENER IMPL ---
 
     @Override
-    public void onGameUpdate() {
-        repaint(); // Render ulang layar setiap frame update
+    public void onGameUpdate(double interpolation) {
+        // Interpolasi sudah tersimpan di snapshot; cukup minta gambar ulang
+        if (activeRenderer != null) {
+            activeRenderer.requestFrame(); // Mode aktif: bangunkan thread render
+        } else if (frameRenderer.isDirtyRendering()) {
+            // Satu penyusunan tertunda cukup; update berikutnya akan terbaca lewat snapshot terbaru
+            if (composeScheduled.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(composeTask);
+            }
+        } else {
+            repaint(); // Render ulang layar setiap frame update
+        }
     }
 
     @Override
@@ -158,7 +260,9 @@ public class GameCanvas extends JPanel implements GameEventListener, KeyListener
         String message = "Game Over!\n" +
                 "Skor Akhir: " + finalScore + "\n" +
                 "Peluru Meleset: " + ammoMissed + "\n" +
-                "Progres Anda telah disimpan otomatis.";
+                (viewModel != null && viewModel.isSavingProgress()
+                        ? "Progres Anda telah disimpan otomatis."
+                        : "Progres sesi ini tidak disimpan (data awal gagal dimuat).");
 
         JOptionPane.showMessageDialog(this, message);
 
@@ -177,6 +281,11 @@ public class GameCanvas extends JPanel implements GameEventListener, KeyListener
         if (key == KeyEvent.VK_UP || key == KeyEvent.VK_W) viewModel.setMoveUp(true);
         if (key == KeyEvent.VK_DOWN || key == KeyEvent.VK_S) viewModel.setMoveDown(true);
 
+        // F3: ganti mode render (dirty-rectangle <-> penuh); metrik dibaca lewat getter di bawah
+        if (key == KeyEvent.VK_F3) {
+            frameRenderer.setDirtyRendering(!frameRenderer.isDirtyRendering());
+        }
+
         if (key == KeyEvent.VK_ESCAPE) {
             viewModel.stopGame();
             parentWindow.showMenu();
@@ -1,5 +1,6 @@
 package com.hideseek.view;
 
+import com.hideseek.model.UserStats;
 import com.hideseek.viewmodel.MenuViewModel;
 import javax.swing.*;
 import java.awt.*;
@@ -24,6 +25,14 @@ public class GameWindow extends JFrame {
     private MainMenuPanel menuPanel;
     private GameCanvas gameCanvas;
 
+    // Satu ViewModel menu untuk seluruh umur jendela (dipakai bersama dengan MainMenuPanel)
+    private final MenuViewModel menuViewModel = new MenuViewModel();
+
+    // Pengukuran waktu startup (konstruktor -> frame pertama tampil di layar), aktif dengan
+    // opsi JVM -Dhideseek.logStartup=true
+    private final long startupNanos = System.nanoTime();
+    private boolean firstFrameLogged = !Boolean.getBoolean("hideseek.logStartup");
+
     /**
      * Konstruktor Utama.
      * Di sini kita membangun struktur dasar jendela, mengatur dimensi, dan
@@ -38,22 +47,28 @@ public class GameWindow extends JFrame {
 
         // Inisialisasi CardLayout dan wadah panel utama.
         cardLayout = new CardLayout();
-        mainContainer = new JPanel(cardLayout);
+        mainContainer = new JPanel(cardLayout) {
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                logFirstFrame();
+            }
+        };
 
         // --- Inisialisasi Halaman 1: Menu Utama ---
         // Di sini kita mendefinisikan apa yang harus dilakukan ketika tombol "START GAME" ditekan.
         // Logika ini (Lambda Expression) dikirimkan ke dalam MainMenuPanel sebagai aksi.
-        menuPanel = new MainMenuPanel(e -> {
+        menuPanel = new MainMenuPanel(menuViewModel, e -> {
             // Langkah 1: Ambil input nama dari text field.
             String username = menuPanel.getUsername();
 
             // Langkah 2: Validasi input (tidak boleh kosong).
             if (!username.isEmpty()) {
-                // Langkah 3: Daftarkan pengguna ke database (atau load jika sudah ada).
-                new MenuViewModel().registerUser(username);
-
-                // Langkah 4: Perintahkan jendela ini untuk beralih ke tampilan Game.
-                showGame(username);
+                // Langkah 3: Daftarkan pengguna ke database (atau load jika sudah ada) di thread latar,
+                // agar jendela tetap responsif selama menunggu database. Hasilnya dilanjutkan di EDT.
+                menuPanel.setPlayEnabled(false);
+                menuViewModel.registerOrLoadAsync(username).whenComplete((stats, error) ->
+                        SwingUtilities.invokeLater(() -> startSession(username, error == null ? stats : null)));
             } else {
                 // Memberikan umpan balik jika user lupa mengisi nama.
                 JOptionPane.showMessageDialog(this, "Masukkan Username terlebih dahulu!");
@@ -71,6 +86,7 @@ public class GameWindow extends JFrame {
         // Nama "MENU" dan "GAME" ini nanti digunakan sebagai alamat untuk berpindah halaman.
         mainContainer.add(menuPanel, "MENU");
         mainContainer.add(gameCanvas, "GAME");
+        mainContainer.add(createLoadingPanel(), "LOADING");
 
         // Menambahkan wadah utama ke dalam frame jendela.
         this.add(mainContainer);
@@ -88,10 +104,11 @@ public class GameWindow extends JFrame {
      * dan penanganan fokus input.
      *
      * @param username Nama pemain yang akan digunakan untuk sesi permainan ini.
+     * @param stats    Data pemain yang sudah diambil dari DB (skor, peluru, dll).
      */
-    public void showGame(String username) {
-        // 1. Memerintahkan Canvas untuk mereset kondisi dan memuat data pemain dari DB.
-        gameCanvas.startNewGame(username);
+    public void showGame(String username, UserStats stats) {
+        // 1. Memerintahkan Canvas untuk mereset kondisi dengan data pemain tersebut.
+        gameCanvas.startNewGame(username, stats);
 
         // 2. Menginstruksikan CardLayout untuk membalik tampilan ke panel "GAME".
         cardLayout.show(mainContainer, "GAME");
@@ -102,10 +119,59 @@ public class GameWindow extends JFrame {
         // SETELAH proses penggambaran tata letak selesai sepenuhnya.
         // Tanpa ini, tombol keyboard (panah/spasi) seringkali tidak merespons di awal game.
         SwingUtilities.invokeLater(() -> {
-            gameCanvas.requestFocusInWindow();
+            gameCanvas.focusInput();
         });
     }
 
+    /**
+     * Lanjutan tombol START setelah data pemain selesai dimuat (dijalankan di EDT).
+     *
+     * @param stats Stats awal pemain, atau null jika tidak bisa dimuat.
+     */
+    private void startSession(String username, UserStats stats) {
+        menuPanel.setPlayEnabled(true);
+
+        // Stats lama tidak bisa dimuat: bermain dari nol lalu menyimpan hasilnya akan
+        // menimpa progres asli, jadi pemain memilih antara batal atau main tanpa menyimpan.
+        if (stats == null) {
+            int choice = JOptionPane.showConfirmDialog(this,
+                    "Data pemain tidak bisa dimuat (database tidak bisa dihubungi).\n"
+                            + "Main tanpa menyimpan progres?",
+                    "Database Tidak Tersedia", JOptionPane.YES_NO_OPTION);
+            if (choice != JOptionPane.YES_OPTION) return;
+        }
+
+        // Langkah 4: Perintahkan jendela ini untuk beralih ke tampilan Game.
+        // Jika aset masih dimuat di latar belakang, tampilkan layar "Memuat" dulu.
+        if (!gameCanvas.isAssetsReady()) {
+            cardLayout.show(mainContainer, "LOADING");
+        }
+        gameCanvas.whenAssetsReady(() -> showGame(username, stats));
+    }
+
+    /**
+     * Tampilan sederhana selama aset permainan masih didekode.
+     */
+    private JPanel createLoadingPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(Color.BLACK);
+        JLabel label = new JLabel("Memuat aset...", SwingConstants.CENTER);
+        label.setForeground(Color.WHITE);
+        label.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        panel.add(label, BorderLayout.CENTER);
+        return panel;
+    }
+
+    // Mencetak waktu dari konstruktor hingga frame pertama selesai digambar (sekali saja,
+    // hanya jika -Dhideseek.logStartup=true)
+    private void logFirstFrame() {
+        if (firstFrameLogged) return;
+        firstFrameLogged = true;
+        System.out.printf("Frame pertama tampil setelah %.1f ms (aset %s)%n",
+                (System.nanoTime() - startupNanos) / 1_000_000.0,
+                gameCanvas != null && gameCanvas.isAssetsReady() ? "sudah siap" : "masih dimuat");
+    }
+
     /**
      * Metode Navigasi: Beralih ke Menu Utama.
      * Metode ini menangani proses pembersihan sesi permainan dan kembali ke tampilan awal.
@@ -0,0 +1,172 @@
+package com.hideseek.view;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Lapisan HUD (Heads-Up Display) yang di-cache.
+ *
+ * Sebelumnya setiap frame membuat objek Font baru, menyusun string seperti "Skor: " + skor,
+ * lalu menata glyph teks yang hampir tidak pernah berubah. Kelas ini menggambar HUD ke
+ * sebuah gambar cache dan hanya menggambar ulang jika username, skor, peluru, atau
+ * jumlah meleset benar-benar berubah. Label HP batu diambil dari "strip" gambar
+ * yang berisi angka 0 sampai HP maksimum, sehingga tidak ada penataan teks per frame.
+ */
+public class HudLayer {
+
+    // Font dibuat sekali saja
+    private static final Font HUD_FONT = new Font("Segoe UI", Font.BOLD, 14);
+    private static final Font HP_FONT = new Font("Arial", Font.BOLD, 12);
+
+    private static final int HUD_HEIGHT = 95;
+
+    // --- Cache HUD ---
+    private BufferedImage hudImage;
+    private GraphicsConfiguration hudConfig;
+    private String lastUsername;
+    private int lastScore = Integer.MIN_VALUE;
+    private int lastAmmo = Integer.MIN_VALUE;
+    private int lastMissed = Integer.MIN_VALUE;
+    private int lastWidth;
+    private long hudRedraws = 0;
+
+    // --- Strip angka HP ---
+    private final int maxHp;
+    private BufferedImage hpStrip;
+    private GraphicsConfiguration hpConfig;
+    private int hpCellWidth;
+    private int hpCellHeight;
+    private int hpAscent;
+
+    /**
+     * @param maxHp Nilai HP terbesar yang perlu disiapkan di strip angka.
+     */
+    public HudLayer(int maxHp) {
+        this.maxHp = maxHp;
+    }
+
+    /**
+     * Memperbarui gambar cache HUD jika datanya berubah.
+     *
+     * @return true jika cache baru saja digambar ulang (area HUD perlu ditampilkan ulang).
+     */
+    public boolean update(GraphicsConfiguration gc, int width, String username, int score, int ammo, int missed) {
+        boolean changed = hudImage == null || gc != hudConfig || width != lastWidth
+                || score != lastScore || ammo != lastAmmo || missed != lastMissed
+                || !username.equals(lastUsername);
+
+        if (changed) {
+            redrawHud(gc, width, username, score, ammo, missed);
+        }
+        return changed;
+    }
+
+    /**
+     * Menggambar HUD (hasil {@link #update}) di pojok atas layar.
+     */
+    public void drawHud(Graphics2D g) {
+        if (hudImage != null) {
+            g.drawImage(hudImage, 0, 0, null);
+        }
+    }
+
+    public int getHudHeight() {
+        return HUD_HEIGHT;
+    }
+
+    /**
+     * Menggambar label HP batu. Garis dasar (baseline) teks berada di koordinat y,
+     * sama seperti Graphics.drawString.
+     */
+    public void drawHp(Graphics2D g, int hp, int x, int y) {
+        if (hp < 0 || hp > maxHp) {
+            // Di luar jangkauan strip (seharusnya tidak terjadi): gambar teks langsung
+            g.setColor(Color.WHITE);
+            g.setFont(HP_FONT);
+            g.drawString(String.valueOf(hp), x, y);
+            return;
+        }
+
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        if (hpStrip == null || gc != hpConfig) {
+            buildHpStrip(gc);
+        }
+
+        int sx = hp * hpCellWidth;
+        int top = y - hpAscent;
+        g.drawImage(hpStrip, x, top, x + hpCellWidth, top + hpCellHeight,
+                sx, 0, sx + hpCellWidth, hpCellHeight, null);
+    }
+
+    public long getHudRedraws() {
+        return hudRedraws;
+    }
+
+    private void redrawHud(GraphicsConfiguration gc, int width, String username, int score, int ammo, int missed) {
+        if (hudImage == null || gc != hudConfig || width != lastWidth) {
+            if (hudImage != null) hudImage.flush();
+            hudImage = gc.createCompatibleImage(Math.max(1, width), HUD_HEIGHT, Transparency.TRANSLUCENT);
+            hudConfig = gc;
+        }
+
+        Graphics2D hg = hudImage.createGraphics();
+        try {
+            // Kosongkan cache lama (transparan)
+            hg.setComposite(AlphaComposite.Clear);
+            hg.fillRect(0, 0, hudImage.getWidth(), hudImage.getHeight());
+            hg.setComposite(AlphaComposite.SrcOver);
+
+            hg.setColor(Color.WHITE);
+            hg.setFont(HUD_FONT);
+            // Baris 1: Username
+            hg.drawString("Player: " + username, 15, 25);
+            // Baris 2: Skor
+            hg.drawString("Skor: " + score, 15, 45);
+            // Baris 3: Sisa Peluru
+            hg.drawString("Peluru: " + ammo, 15, 65);
+            // Baris 4: Peluru Meleset
+            hg.drawString("Meleset: " + missed, 15, 85);
+
+            // Instruksi
+            hg.drawString("[WASD / Panah] Bergerak", 580, 25);
+            hg.drawString("[KLIK KIRI] Tembak", 580, 45);
+            hg.drawString("[ESC] Keluar", 580, 65);
+        } finally {
+            hg.dispose();
+        }
+
+        lastUsername = username;
+        lastScore = score;
+        lastAmmo = ammo;
+        lastMissed = missed;
+        lastWidth = width;
+        hudRedraws++;
+    }
+
+    // Strip berisi angka 0..maxHp berjajar dalam sel berukuran sama
+    private void buildHpStrip(GraphicsConfiguration gc) {
+        BufferedImage probe = gc.createCompatibleImage(1, 1, Transparency.TRANSLUCENT);
+        Graphics2D pg = probe.createGraphics();
+        FontMetrics fm = pg.getFontMetrics(HP_FONT);
+        pg.dispose();
+
+        hpCellWidth = fm.stringWidth(String.valueOf(maxHp)) + 2;
+        hpCellHeight = fm.getAscent() + fm.getDescent();
+        hpAscent = fm.getAscent();
+
+        if (hpStrip != null) hpStrip.flush();
+        hpStrip = gc.createCompatibleImage(hpCellWidth * (maxHp + 1), hpCellHeight, Transparency.TRANSLUCENT);
+        hpConfig = gc;
+
+        Graphics2D sg = hpStrip.createGraphics();
+        try {
+            sg.setColor(Color.WHITE);
+            sg.setFont(HP_FONT);
+            for (int hp = 0; hp <= maxHp; hp++) {
+                sg.drawString(String.valueOf(hp), hp * hpCellWidth, hpAscent);
+            }
+        } finally {
+            sg.dispose();
+        }
+    }
+}
@@ -28,12 +28,13 @@ public class MainMenuPanel extends JPanel {
 
     /**
      * Konstruktor Panel Menu.
+     * @param viewModel  ViewModel menu (dipakai bersama dengan GameWindow).
      * @param playAction Aksi (Logika) yang akan dijalankan saat tombol START ditekan.
      * Logika ini dikirim dari GameWindow, sehingga panel ini tidak perlu
      * tahu detail teknis perpindahan halaman.
      */
-    public MainMenuPanel(ActionListener playAction) {
-        this.viewModel = new MenuViewModel();               // Inisialisasi ViewModel untuk komunikasi database
+    public MainMenuPanel(MenuViewModel viewModel, ActionListener playAction) {
+        this.viewModel = viewModel;                         // ViewModel untuk komunikasi database
         this.setLayout(new BorderLayout());                 // Mengatur tata letak utama dan warna latar belakang
         this.setBackground(new Color(33, 37, 41)); // Warna abu-abu gelap agar nyaman di mata
 
@@ -129,6 +130,13 @@ public class MainMenuPanel extends JPanel {
         return usernameField.getText().trim();
     }
 
+    /**
+     * Mengunci tombol START selama data pemain masih dimuat (mencegah klik ganda).
+     */
+    public void setPlayEnabled(boolean enabled) {
+        playButton.setEnabled(enabled);
+    }
+
     public void refreshTable() {
         scoreTable.setModel(viewModel.getTableData());
     }
@@ -18,8 +18,11 @@ public interface GameEventListener {
      * Sinyal Detak Jantung Permainan (Tick).
      * Dipanggil oleh ViewModel setiap kali posisi objek berubah (sekitar 60 kali sedetik).
      * Memberitahu View bahwa "Data sudah berubah, tolong gambar ulang layar sekarang."
+     *
+     * @param interpolation Faktor interpolasi (0.0 - 1.0) antara tick sebelumnya dan tick
+     *                      terakhir, agar gerakan tetap halus walau frame tidak pas dengan tick.
      */
-    void onGameUpdate();
+    void onGameUpdate(double interpolation);
 
     /**
      * Sinyal Permainan Berakhir.
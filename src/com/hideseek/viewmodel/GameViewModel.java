@@ -3,11 +3,10 @@ package com.hideseek.viewmodel;
 import com.hideseek.model.*;
 
 import java.awt.Image;
-import java.awt.Rectangle;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Mesin Utama Permainan (Game Engine / Conductor).
@@ -20,12 +19,39 @@ public class GameViewModel implements Runnable {
 
     // --- Referensi ke Model (Aktor Game) ---
     private Player player;
-    private List<Alien> aliens;
-    private List<Bullet> bullets;
+    private AlienStore aliens;
+    private BulletStore bullets;
     private List<Obstacle> obstacles;
 
+    // --- Broadphase Tabrakan ---
+    // Batu jarang berubah, jadi grid-nya diperbarui inkremental (tambah/hapus).
+    // Alien bergerak tiap tick, jadi grid-nya dibangun ulang setiap tick.
+    private static final int GRID_CELL_SIZE = 64;
+    private SpatialGrid<Obstacle> obstacleGrid;
+    private SpatialGrid<Alien> alienGrid;
+
+    // Naik setiap kali tampilan batu berubah (HP berkurang, hancur, muncul baru),
+    // agar View tahu kapan lapisan statisnya perlu digambar ulang.
+    private int obstacleVersion = 0;
+
+    // Peluru bekas dipakai ulang agar tidak membebani Garbage Collector
+    private static final int BULLET_POOL_CAPACITY = 256;
+    private final BulletPool bulletPool = new BulletPool(BULLET_POOL_CAPACITY);
+
+    // --- Update Paralel (Fork-Join) untuk sesi stress ---
+    // Fase 1 (paralel): gerak + deteksi tabrakan, hasilnya ditulis ke array "scratch" per slot.
+    // Fase 2 (serial, urutan indeks): skor, penghapusan, suara, respawn. Kandidat yang sudah
+    // hancur oleh entitas sebelumnya dicek ulang, jadi hasilnya identik dengan jalur serial.
+    private static final int PARALLEL_GRAIN = 1024;
+    private boolean parallelUpdate = Boolean.getBoolean("hideseek.parallelUpdate");
+    private int parallelThreshold = 4096;
+    private final ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+    private Alien[] bulletAlienHits = new Alien[0];
+    private Obstacle[] bulletObstacleHits = new Obstacle[0];
+    private boolean[] alienRockHits = new boolean[0];
+
     // --- Infrastruktur Pendukung ---
-    private UserRepository userRepo; // Akses DB untuk save game
+    private SaveQueue saveQueue;     // Antrian simpan ke DB (write-behind), null di mode headless
     private UserStats initialStats;  // Data awal (jika load game)
     private String currentUsername;  // Pemilik sesi permainan ini
 
@@ -33,29 +59,65 @@ public class GameViewModel implements Runnable {
     private List<Image> alienImages;
     private List<Image> meteorImages;
     private Image playerImage;
-    private Sound soundEffect;       // Pemutar suara
+    private SoundDispatcher audio;   // Pemutar suara (thread audio terpisah), null di mode headless
     private Random random;
+    private final boolean packedEntities;  // true = penyimpanan SoA (PackedBulletStore/PackedAlienStore)
 
     // --- Status Game Loop ---
     private int screenWidth = 800;
     private int screenHeight = 600;
-    private boolean isRunning = false;
+    private volatile boolean isRunning = false;
+    private boolean isGameOver = false;
+    private long tickCount = 0;
     private Thread gameThread;
 
+    // --- Pengaturan Fixed Timestep ---
+    public static final int DEFAULT_TICK_RATE = 60;   // Jumlah tick simulasi per detik
+    private static final int MAX_CATCH_UP_TICKS = 5;  // Batas tick susulan dalam satu frame
+    private long tickNanos = 1_000_000_000L / DEFAULT_TICK_RATE;
+
     // Komunikasi ke View
     private GameEventListener eventListener;
 
-    // Status Input (Flagging)
+    // Data gambar diserahkan ke View lewat triple buffer, bukan lewat daftar entitas langsung
+    private final SnapshotBuffer snapshotBuffer = new SnapshotBuffer();
+
+    // Status Input (Flagging) - hanya diubah oleh thread Game Loop saat menguras InputQueue
     private boolean isMovingLeft, isMovingRight, isMovingUp, isMovingDown;
 
+    // Input dari EDT masuk lewat antrian, lalu diterapkan di awal setiap tick
+    private static final int INPUT_QUEUE_CAPACITY = 256;
+    private final InputQueue inputQueue = new InputQueue(INPUT_QUEUE_CAPACITY);
+    private final InputQueue.Handler inputHandler = this::applyInput;
+
+    // Listener kosong untuk mode headless (tanpa View)
+    private static final GameEventListener NO_OP_LISTENER = new GameEventListener() {
+        @Override public void onGameUpdate(double interpolation) {}
+        @Override public void onGameOver(int finalScore, int ammoMissed) {}
+    };
+
     /**
      * Konstruktor ViewModel.
      * Menerima username agar ViewModel bisa melakukan penyimpanan data otomatis (Auto-Save)
      * saat Game Over, tanpa membebani View.
+     *
+     * @param initialStats Stats awal pemain. null = stats awal tidak bisa dimuat (DB mati):
+     *                     permainan tetap jalan, tetapi hasilnya TIDAK disimpan, karena menyimpan
+     *                     total dari nol akan menimpa progres asli pemain saat DB kembali.
      */
     public GameViewModel(GameEventListener listener, List<Image> alienImages,
                          List<Image> meteorImages, Image playerImage,
                          UserStats initialStats, String username) {
+        this(listener, alienImages, meteorImages, playerImage, initialStats, username,
+                initialStats != null ? SaveQueue.shared() : null, new Sound(), new Random(),
+                Boolean.getBoolean("hideseek.packedEntities"));
+    }
+
+    private GameViewModel(GameEventListener listener, List<Image> alienImages,
+                          List<Image> meteorImages, Image playerImage,
+                          UserStats initialStats, String username,
+                          SaveQueue saveQueue, Sound soundEffect, Random random,
+                          boolean packedEntities) {
 
         this.eventListener = listener;
         this.alienImages = alienImages;
@@ -64,13 +126,38 @@ public class GameViewModel implements Runnable {
         this.initialStats = initialStats;
 
         this.currentUsername = username;
-        this.userRepo = new UserRepository();
-        this.soundEffect = new Sound();
-        this.random = new Random();
+        this.saveQueue = saveQueue;
+        this.audio = soundEffect != null ? new SoundDispatcher(soundEffect) : null;
+        this.random = random;
+        this.packedEntities = packedEntities;
 
         initGame();
     }
 
+    /**
+     * Membuat mesin permainan dalam mode Headless (tanpa Swing).
+     *
+     * Mode ini tidak memiliki View, tidak memutar suara, tidak menyimpan ke database,
+     * dan tidak pernah tidur. Simulasi dijalankan manual lewat {@link #step(int)}
+     * secepat CPU mampu, cocok untuk soak test, uji keseimbangan, dan profiling di CI.
+     *
+     * @param seed Benih angka acak agar hasil simulasi bisa diulang persis.
+     */
+    public static GameViewModel createHeadless(long seed) {
+        return createHeadless(seed, false);
+    }
+
+    /**
+     * Mode Headless dengan pilihan penyimpanan entitas.
+     *
+     * @param packedEntities true untuk memakai penyimpanan array primitif (SoA),
+     *                       cocok untuk sesi stress dengan puluhan ribu peluru.
+     */
+    public static GameViewModel createHeadless(long seed, boolean packedEntities) {
+        return new GameViewModel(NO_OP_LISTENER, null, null, null, null, "headless",
+                null, null, new Random(seed), packedEntities);
+    }
+
     /**
      * Inisialisasi awal objek-objek permainan.
      * Menyiapkan posisi player, memuat skor lama (jika ada), dan memunculkan rintangan awal.
@@ -86,9 +173,12 @@ public class GameViewModel implements Runnable {
             player.setAmmoMissed(initialStats.getPeluruMeleset());
         }
 
-        aliens = new ArrayList<>();
-        bullets = new ArrayList<>();
+        // Mode stress memakai penyimpanan array primitif (SoA) agar muat puluhan ribu peluru
+        aliens = packedEntities ? new PackedAlienStore() : new AlienList();
+        bullets = packedEntities ? new PackedBulletStore() : new BulletList();
         obstacles = new ArrayList<>();
+        obstacleGrid = new SpatialGrid<>(screenWidth, screenHeight, GRID_CELL_SIZE);
+        alienGrid = new SpatialGrid<>(screenWidth, screenHeight, GRID_CELL_SIZE);
 
         // Spawn 5 batu meteor sebagai rintangan awal
         for (int i = 0; i < 5; i++) {
@@ -99,31 +189,155 @@ public class GameViewModel implements Runnable {
     /**
      * GAME LOOP (Jantung Permainan).
      * Metode ini berjalan di Thread terpisah agar UI tidak macet.
-     * Loop ini melakukan 3 hal berulang-ulang:
-     * 1. Update Logika (Gerakkan benda, cek tabrakan).
-     * 2. Render (Suruh View gambar ulang).
-     * 3. Tidur (Sleep) sebentar untuk menjaga kecepatan stabil (~60 FPS).
+     *
+     * Loop memakai pola "Fixed Timestep" dengan akumulator waktu (System.nanoTime):
+     * 1. Update Logika dijalankan tepat sekali per jatah waktu tick (default 1/60 detik),
+     *    sehingga kecepatan Alien & Peluru tidak ikut melambat saat frame tersendat.
+     *    Jika tertinggal, tick disusulkan maksimal MAX_CATCH_UP_TICKS kali per frame.
+     * 2. Render: View diberi faktor interpolasi (sisa akumulator / panjang tick).
+     * 3. Tidur hanya selama sisa waktu menuju tick berikutnya.
      */
     @Override
     public void run() {
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+
         while (isRunning) {
-            updateGame(); // 1. Update
+            long frameStart = System.nanoTime();
+            accumulator += frameStart - previousTime;
+            previousTime = frameStart;
+
+            // 1. Update (dengan susulan tick yang dibatasi)
+            int ticks = 0;
+            while (accumulator >= tickNanos && ticks < MAX_CATCH_UP_TICKS && isRunning) {
+                updateGame();
+                accumulator -= tickNanos;
+                ticks++;
+            }
+
+            // Masih tertinggal jauh (misal thread sempat tertahan): buang sisa utang waktu
+            // agar simulasi tidak "kebut-kebutan" mengejar ketinggalan.
+            if (accumulator >= tickNanos) {
+                accumulator = 0;
+            }
+
+            if (!isRunning) break;
 
+            // 2. Render Signal: terbitkan snapshot terbaru, lalu beri tahu View
+            double interpolation = (double) accumulator / tickNanos;
+            publishSnapshot(interpolation);
             if (eventListener != null) {
-                eventListener.onGameUpdate(); // 2. Render Signal
+                eventListener.onGameUpdate(interpolation);
             }
 
-            try {
-                Thread.sleep(16); // 3. Sleep (~16ms)
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+            // 3. Sleep selama sisa waktu sampai tick berikutnya jatuh tempo
+            long remaining = tickNanos - accumulator - (System.nanoTime() - frameStart);
+            if (remaining > 0) {
+                try {
+                    Thread.sleep(remaining / 1_000_000L, (int) (remaining % 1_000_000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
         }
     }
 
+    /**
+     * Menyalin status dunia saat ini ke back buffer lalu menerbitkannya.
+     * Hanya dipanggil dari thread Game Loop; tidak ada alokasi selama kapasitas cukup.
+     */
+    private void publishSnapshot(double interpolation) {
+        RenderSnapshot snapshot = snapshotBuffer.getBackBuffer();
+        snapshot.begin(tickCount, interpolation, obstacleVersion);
+
+        snapshot.setPlayer(player.getX(), player.getY(), player.getPrevX(), player.getPrevY(),
+                player.getWidth(), player.getHeight(), player.getImage(),
+                player.getScore(), player.getAmmo(), player.getAmmoMissed());
+
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle obs = obstacles.get(i);
+            snapshot.addObstacle(obs.getX(), obs.getY(), obs.getWidth(), obs.getHeight(),
+                    obs.getHp(), obs.getImage());
+        }
+        for (int i = 0; i < aliens.size(); i++) {
+            snapshot.addAlien(aliens.getX(i), aliens.getY(i), aliens.getPrevX(i), aliens.getPrevY(i),
+                    aliens.getWidth(i), aliens.getHeight(i), aliens.get(i).getImage());
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            snapshot.addBullet(bullets.getX(i), bullets.getY(i), bullets.getPrevX(i), bullets.getPrevY(i),
+                    bullets.isEnemyBullet(i));
+        }
+
+        snapshotBuffer.publish();
+    }
+
+    /**
+     * Mengambil snapshot dunia terbaru untuk digambar (dipanggil oleh satu thread pembaca saja).
+     *
+     * @return Snapshot terbaru, atau null jika Game Loop belum menghasilkan frame pertama.
+     */
+    public RenderSnapshot acquireSnapshot() {
+        return snapshotBuffer.acquire();
+    }
+
+    /**
+     * Mengatur jumlah tick simulasi per detik.
+     * Kecepatan objek didefinisikan "per tick", jadi nilai ini menentukan kecepatan game.
+     */
+    public void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick rate harus lebih dari 0");
+        }
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+    }
+
+    public int getTickRate() {
+        return (int) (1_000_000_000L / tickNanos);
+    }
+
+    /**
+     * Mengaktifkan fase update paralel (Fork-Join) untuk gerak & tabrakan entitas.
+     * Hasil simulasi tetap identik dengan jalur serial untuk seed yang sama.
+     */
+    public void setParallelUpdate(boolean enabled) {
+        this.parallelUpdate = enabled;
+    }
+
+    /**
+     * Jumlah minimum peluru/alien sebelum fase paralel dipakai
+     * (di bawah angka ini, biaya koordinasi thread lebih mahal dari hasilnya).
+     */
+    public void setParallelThreshold(int minEntities) {
+        this.parallelThreshold = Math.max(1, minEntities);
+    }
+
+    /**
+     * Menjalankan simulasi secara manual sebanyak n tick (tanpa sleep dan tanpa render).
+     * Berhenti lebih awal jika terjadi Game Over.
+     *
+     * @param ticks Jumlah tick yang ingin dijalankan.
+     * @return Jumlah tick yang benar-benar dijalankan.
+     */
+    public int step(int ticks) {
+        if (isRunning) {
+            throw new IllegalStateException("step() tidak boleh dipanggil saat Game Loop berjalan");
+        }
+        int executed = 0;
+        while (executed < ticks && !isGameOver) {
+            updateGame();
+            executed++;
+        }
+        return executed;
+    }
+
     public void startGame() {
         if (isRunning) return;
+        publishSnapshot(1.0); // Frame pertama sudah siap sebelum thread berjalan
         isRunning = true;
+        if (audio != null) {
+            audio.start();
+        }
         gameThread = new Thread(this);
         gameThread.start();
     }
@@ -137,6 +351,10 @@ public class GameViewModel implements Runnable {
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
+        // Menghentikan thread audio & melepas line audio milik sesi ini
+        if (audio != null) {
+            audio.close();
+        }
     }
 
     /**
@@ -146,15 +364,19 @@ public class GameViewModel implements Runnable {
      */
     private void handleGameOver() {
         isRunning = false;
-        soundEffect.play("sfx_lose.wav");
-
-        // Simpan data ke Database
-        userRepo.updateUserStats(
-                currentUsername,
-                player.getScore(),
-                player.getAmmoMissed(),
-                player.getAmmo()
-        );
+        isGameOver = true;
+        playSound("sfx_lose.wav");
+
+        // Titipkan data ke antrian simpan; ditulis ke Database oleh thread latar belakang,
+        // sehingga Game Over tidak menunggu round trip DB (mode headless tidak menyimpan)
+        if (saveQueue != null) {
+            saveQueue.submit(
+                    currentUsername,
+                    player.getScore(),
+                    player.getAmmoMissed(),
+                    player.getAmmo()
+            );
+        }
 
         // Beritahu View
         if (eventListener != null) {
@@ -163,22 +385,23 @@ public class GameViewModel implements Runnable {
     }
 
     private void updateGame() {
+        tickCount++;
+        if (audio != null) {
+            audio.beginTick(); // Dedupe efek suara berlaku per tick
+        }
+
+        // 0. Terapkan semua input yang masuk sejak tick sebelumnya
+        inputQueue.drain(inputHandler);
+
         // 1. Gerakkan Player
+        player.savePreviousPosition();
         int oldX = player.getX();
         int oldY = player.getY();
         player.move(isMovingLeft, isMovingRight, isMovingUp, isMovingDown, screenWidth, screenHeight);
 
-        // 2. Cek Tabrakan Player vs Dinding/Batu
-        boolean isCollided = false;
-        Iterator<Obstacle> obsIt = obstacles.iterator();
-        
-        // Loop berhenti jika list habis ATAU sudah terjadi tabrakan (isCollided true)
-        while (obsIt.hasNext() && !isCollided) {
-            Obstacle obs = obsIt.next();
-            if (player.checkCollision(obs)) {
-                player.rollback(oldX, oldY);
-                isCollided = true;
-            }
+        // 2. Cek Tabrakan Player vs Dinding/Batu (hanya batu di cell sekitar player)
+        if (obstacleGrid.findFirst(player) != null) {
+            player.rollback(oldX, oldY);
         }
 
         // 3. Spawn Alien
@@ -190,125 +413,237 @@ public class GameViewModel implements Runnable {
         updateBullets();
     }
 
+    /*
+     * Catatan: loop di dalam tick memakai indeks (bukan Iterator/for-each)
+     * agar tidak ada objek yang dialokasikan pada kondisi stabil. Data posisi dibaca
+     * langsung dari penyimpanan (AlienStore/BulletStore) sehingga logika di bawah
+     * berlaku sama untuk penyimpanan objek biasa maupun array primitif (SoA).
+     */
     private void updateAliens() {
-        Iterator<Alien> it = aliens.iterator();
-        while (it.hasNext()) {
-            Alien alien = it.next();
-            int oldY = alien.getY();
-
-            alien.move();
-
-            // Cek Alien nabrak Batu
-            boolean hitRock = false;
-            Iterator<Obstacle> obsIt = obstacles.iterator();
-            
-            while (obsIt.hasNext() && !hitRock) {
-                Obstacle obs = obsIt.next();
-                if (alien.checkCollision(obs)) {
-                    alien.setY(oldY);
-                    hitRock = true;
+        boolean parallel = parallelUpdate && aliens.size() >= parallelThreshold;
+        if (parallel) {
+            if (alienRockHits.length < aliens.size()) {
+                alienRockHits = new boolean[aliens.size() * 2];
+            }
+            // Fase 1: gerak + cek tabrakan batu (hanya membaca grid batu)
+            ParallelRange.run(forkJoinPool, aliens.size(), PARALLEL_GRAIN, (from, to) -> {
+                aliens.moveRange(from, to);
+                for (int k = from; k < to; k++) {
+                    alienRockHits[k] = obstacleGrid.findFirst(aliens.getX(k), aliens.getY(k),
+                            aliens.getWidth(k), aliens.getHeight(k)) != null;
                 }
+            });
+        } else {
+            aliens.moveAll();
+        }
+
+        int i = 0;
+        while (i < aliens.size()) {
+            int ax = aliens.getX(i);
+            int ay = aliens.getY(i);
+            int aw = aliens.getWidth(i);
+            int ah = aliens.getHeight(i);
+
+            // Cek Alien nabrak Batu: batalkan langkahnya
+            boolean hitRock = parallel
+                    ? alienRockHits[i]
+                    : obstacleGrid.findFirst(ax, ay, aw, ah) != null;
+            if (hitRock) {
+                ay = aliens.getPrevY(i);
+                aliens.setY(i, ay);
             }
 
-            if (!hitRock && alien.checkCollision(player)) {
+            if (!hitRock && player.intersects(ax, ay, aw, ah)) {
                 handleGameOver();
                 return;
             }
 
-            if (alien.getY() + alien.getHeight() < 0) {
-                it.remove();
+            if (ay + ah < 0) {
+                if (parallel) alienRockHits[i] = alienRockHits[aliens.size() - 1];
+                aliens.removeAt(i);
                 continue;
             }
 
             if (random.nextInt(300) < 1) {
-                Bullet newBullet = alien.shootAt(player);
+                Bullet newBullet = aliens.get(i).shootAt(player, bulletPool);
                 bullets.add(newBullet);
-                soundEffect.play("sfx_laser2.wav");
+                playSound("sfx_laser2.wav");
             }
+            i++;
         }
     }
 
     private void updateBullets() {
         int obstaclesDestroyedCount = 0;
-        Iterator<Bullet> it = bullets.iterator();
 
-        while (it.hasNext()) {
-            Bullet bullet = it.next();
-            boolean isBulletDead = false;
+        // Posisi alien sudah final untuk tick ini, bangun ulang grid-nya
+        alienGrid.clear();
+        for (int a = 0; a < aliens.size(); a++) {
+            alienGrid.insert(aliens.get(a));
+        }
+
+        // Peluru bergerak sendiri (semua sekaligus, atau paralel per rentang)
+        boolean parallel = parallelUpdate && bullets.size() >= parallelThreshold;
+        if (parallel) {
+            scanBulletsParallel();
+        } else {
+            bullets.moveAll();
+        }
 
-            // Peluru bergerak sendiri (Logic di class Bullet)
-            bullet.move();
+        int i = 0;
+        while (i < bullets.size()) {
+            int bx = bullets.getX(i);
+            int by = bullets.getY(i);
+            int bw = bullets.getWidth(i);
+            int bh = bullets.getHeight(i);
+            boolean isBulletDead = false;
 
-            if (bullet.isEnemyBullet()) {
+            if (bullets.isEnemyBullet(i)) {
                 // Hapus jika keluar layar
-                if (bullet.getY() > screenHeight + 50 || bullet.getX() < -50 || bullet.getX() > screenWidth + 50) {
+                if (by > screenHeight + 50 || bx < -50 || bx > screenWidth + 50) {
                     player.addAmmo(1);      // Reward menghindar
                     player.addAmmoMissed();
-                    it.remove();
+                    removeBullet(i, parallel);
                     continue;
                 }
                 // Cek kena Player
-                if (bullet.checkCollision(player)) {
+                if (player.intersects(bx, by, bw, bh)) {
                     handleGameOver();
                     return;
                 }
             } else {
-                // Peluru Player kena Alien
-                Iterator<Alien> alienIt = aliens.iterator();
-                while (alienIt.hasNext() && !isBulletDead) {
-                    Alien alien = alienIt.next();
-                    if (bullet.checkCollision(alien)) {
-                        alienIt.remove();
-                        player.addScore(10);
-                        isBulletDead = true; // Flag ini menghentikan loop alienIt
-                        soundEffect.play("sfx_twoTone.wav");
-                    }
+                // Peluru Player kena Alien (hanya alien di cell sekitar peluru)
+                Alien alien = findAlienHit(i, bx, by, bw, bh, parallel);
+                if (alien != null) {
+                    alien.destroy();
+                    alienGrid.remove(alien);
+                    aliens.removeAt(alien.getStoreIndex());
+                    player.addScore(10);
+                    isBulletDead = true;
+                    playSound("sfx_twoTone.wav");
                 }
-                if (bullet.getY() < -50) isBulletDead = true;
+                if (by < -50) isBulletDead = true;
             }
 
             // Cek Peluru kena Batu
             if (!isBulletDead) {
-                Iterator<Obstacle> obsIt = obstacles.iterator();
-                while (obsIt.hasNext() && !isBulletDead) {
-                    Obstacle obs = obsIt.next();
-                    if (bullet.checkCollision(obs)) {
-                        obs.hit();
-                        isBulletDead = true; // Flag ini menghentikan loop obsIt
-                        if (obs.isDestroyed()) {
-                            obsIt.remove();
-                            obstaclesDestroyedCount++;
-                        }
+                Obstacle obs = findObstacleHit(i, bx, by, bw, bh, parallel);
+                if (obs != null) {
+                    obs.hit();
+                    obstacleVersion++;
+                    isBulletDead = true;
+                    if (obs.isDestroyed()) {
+                        obstacleGrid.remove(obs);
+                        obstacles.remove(obs);
+                        obstaclesDestroyedCount++;
                     }
                 }
             }
 
-            if (isBulletDead) it.remove();
+            if (isBulletDead) removeBullet(i, parallel);
+            else i++;
         }
 
         // Respawn batu jika ada yang hancur
-        for (int i = 0; i < obstaclesDestroyedCount; i++) {
+        for (int n = 0; n < obstaclesDestroyedCount; n++) {
             spawnSingleObstacle();
         }
     }
 
+    /**
+     * Fase paralel peluru: gerakkan setiap rentang lalu catat kandidat alien/batu yang
+     * ditabrak. Grid hanya dibaca di sini; semua perubahan terjadi di fase serial.
+     */
+    private void scanBulletsParallel() {
+        int count = bullets.size();
+        if (bulletAlienHits.length < count) {
+            bulletAlienHits = new Alien[count * 2];
+            bulletObstacleHits = new Obstacle[count * 2];
+        }
+        ParallelRange.run(forkJoinPool, count, PARALLEL_GRAIN, (from, to) -> {
+            bullets.moveRange(from, to);
+            for (int k = from; k < to; k++) {
+                int bx = bullets.getX(k), by = bullets.getY(k);
+                int bw = bullets.getWidth(k), bh = bullets.getHeight(k);
+                bulletAlienHits[k] = bullets.isEnemyBullet(k) ? null : alienGrid.findFirst(bx, by, bw, bh);
+                bulletObstacleHits[k] = obstacleGrid.findFirst(bx, by, bw, bh);
+            }
+        });
+    }
+
+    // Kandidat hasil fase paralel dipakai jika masih valid; jika sudah hancur, cek ulang serial.
+    private Alien findAlienHit(int i, int bx, int by, int bw, int bh, boolean parallel) {
+        if (parallel) {
+            Alien candidate = bulletAlienHits[i];
+            if (candidate == null || !candidate.isDestroyed()) return candidate;
+        }
+        return alienGrid.findFirst(bx, by, bw, bh);
+    }
+
+    private Obstacle findObstacleHit(int i, int bx, int by, int bw, int bh, boolean parallel) {
+        if (parallel) {
+            Obstacle candidate = bulletObstacleHits[i];
+            if (candidate == null || !candidate.isDestroyed()) return candidate;
+        }
+        return obstacleGrid.findFirst(bx, by, bw, bh);
+    }
+
+    // Swap-remove peluru; hasil fase paralel ikut dipindah agar tetap sejajar dengan slotnya
+    private void removeBullet(int i, boolean parallel) {
+        if (parallel) {
+            int last = bullets.size() - 1;
+            bulletAlienHits[i] = bulletAlienHits[last];
+            bulletObstacleHits[i] = bulletObstacleHits[last];
+            bulletAlienHits[last] = null;
+            bulletObstacleHits[last] = null;
+        }
+        bulletPool.release(bullets.removeAt(i));
+    }
+
     // --- INPUT HANDLING ---
 
-    public void setMoveLeft(boolean move) { isMovingLeft = move; }
-    public void setMoveRight(boolean move) { isMovingRight = move; }
-    public void setMoveUp(boolean move) { isMovingUp = move; }
-    public void setMoveDown(boolean move) { isMovingDown = move; }
+    // Metode-metode ini dipanggil dari EDT: hanya mencatat perintah ke antrian.
+    public void setMoveLeft(boolean move) { inputQueue.setMovement(InputQueue.MOVE_LEFT, move); }
+    public void setMoveRight(boolean move) { inputQueue.setMovement(InputQueue.MOVE_RIGHT, move); }
+    public void setMoveUp(boolean move) { inputQueue.setMovement(InputQueue.MOVE_UP, move); }
+    public void setMoveDown(boolean move) { inputQueue.setMovement(InputQueue.MOVE_DOWN, move); }
 
     /**
      * Aksi Menembak Pemain.
-     * Menerima koordinat mouse, lalu meminta Player membuat peluru ke arah tersebut.
+     * Koordinat mouse dicatat ke antrian; peluru dibuat oleh Game Loop pada tick berikutnya.
      */
     public void playerShoot(int targetX, int targetY) {
-        Bullet newBullet = player.shootAt(targetX, targetY);
+        inputQueue.offer(InputQueue.SHOOT, targetX, targetY);
+    }
+
+    // Dipanggil di thread Game Loop untuk setiap perintah dari InputQueue
+    private void applyInput(int type, int a, int b) {
+        switch (type) {
+            case InputQueue.MOVE_LEFT: isMovingLeft = a != 0; break;
+            case InputQueue.MOVE_RIGHT: isMovingRight = a != 0; break;
+            case InputQueue.MOVE_UP: isMovingUp = a != 0; break;
+            case InputQueue.MOVE_DOWN: isMovingDown = a != 0; break;
+            case InputQueue.SHOOT: shoot(a, b); break;
+            default: break;
+        }
+    }
+
+    /**
+     * Meminta Player membuat peluru ke arah koordinat mouse.
+     */
+    private void shoot(int targetX, int targetY) {
+        Bullet newBullet = player.shootAt(targetX, targetY, bulletPool);
 
         if (newBullet != null) {
             bullets.add(newBullet);
-            soundEffect.play("sfx_laser1.wav");
+            playSound("sfx_laser1.wav");
+        }
+    }
+
+    // Hanya menitipkan efek ke thread audio (tidak pernah menunggu); mode headless tidak memiliki suara
+    private void playSound(String filename) {
+        if (audio != null) {
+            audio.post(filename);
         }
     }
 
@@ -321,12 +656,14 @@ public class GameViewModel implements Runnable {
         while (!validPosition && attempts < 10) {
             int x = random.nextInt(screenWidth - 60);
             int y = random.nextInt(screenHeight - 200) + 50;
-            Rectangle tempRect = new Rectangle(x, y, 60, 60);
 
-            if (!tempRect.intersects(player.getBounds())) {
+            if (!player.intersects(x, y, 60, 60)) {
                 Image img = (meteorImages != null && !meteorImages.isEmpty())
                         ? meteorImages.get(random.nextInt(meteorImages.size())) : null;
-                obstacles.add(new Obstacle(x, y, 60, 60, img));
+                Obstacle obs = new Obstacle(x, y, 60, 60, img);
+                obstacles.add(obs);
+                obstacleGrid.insert(obs);
+                obstacleVersion++;
                 validPosition = true;
             }
             attempts++;
@@ -342,7 +679,22 @@ public class GameViewModel implements Runnable {
 
     // Getters untuk View
     public Player getPlayer() { return player; }
-    public List<Alien> getAliens() { return aliens; }
-    public List<Bullet> getBullets() { return bullets; }
+    public List<Alien> getAliens() { return aliens.asList(); }
+    public List<Bullet> getBullets() { return bullets.asList(); }
     public List<Obstacle> getObstacles() { return obstacles; }
+    public BulletPool getBulletPool() { return bulletPool; }
+
+    // Metrik latensi input-ke-tick dan jumlah tembakan yang dibuang (InputQueue)
+    public InputQueue getInputQueue() { return inputQueue; }
+
+    // Penghitung efek suara (dikirim, digabung, dibuang, diputar) untuk menyetel antrian audio;
+    // null di mode headless
+    public SoundDispatcher getSoundDispatcher() { return audio; }
+
+    // true jika hasil sesi ini akan disimpan saat Game Over
+    public boolean isSavingProgress() { return saveQueue != null; }
+
+    // Status simulasi (berguna untuk mode headless)
+    public boolean isGameOver() { return isGameOver; }
+    public long getTickCount() { return tickCount; }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.hideseek.viewmodel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Antrian Perintah Input (Ring Buffer Single-Producer / Single-Consumer).
+ *
+ * Event keyboard & mouse datang dari thread UI (EDT), sedangkan yang boleh mengubah
+ * status permainan hanyalah thread Game Loop. Daripada EDT langsung menyentuh daftar
+ * peluru atau flag gerak, setiap input dicatat di sini sebagai perintah bercap waktu,
+ * lalu Game Loop mengurasnya di awal setiap tick.
+ *
+ * Tanpa kunci: EDT hanya memajukan "tail", Game Loop hanya memajukan "head".
+ *
+ * Perintah gerak tidak masuk ring, melainkan ke slot "nilai terakhir" per arah (bitmask tombol
+ * yang sedang ditekan). Tekan/lepas berulang cukup menimpa slotnya, sehingga pelepasan tombol
+ * tidak pernah hilang walau ring penuh. Hanya perintah tembak yang memakai ring; jika ring
+ * penuh, tembakan baru dibuang (dihitung sebagai dropped) agar EDT tidak pernah menunggu.
+ * Antrian juga mencatat latensi input-ke-tick untuk diukur.
+ */
+public class InputQueue {
+
+    // Jenis perintah
+    static final int MOVE_LEFT = 0;
+    static final int MOVE_RIGHT = 1;
+    static final int MOVE_UP = 2;
+    static final int MOVE_DOWN = 3;
+    static final int SHOOT = 4;
+
+    /**
+     * Penerima perintah saat antrian dikuras (diimplementasikan oleh GameViewModel).
+     */
+    interface Handler {
+        /**
+         * @param type Jenis perintah (MOVE_* atau SHOOT).
+         * @param a    Argumen pertama (1/0 untuk gerak, koordinat X untuk tembak).
+         * @param b    Argumen kedua (koordinat Y untuk tembak).
+         */
+        void handle(int type, int a, int b);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int[] types;
+    private final int[] argsA;
+    private final int[] argsB;
+    private final long[] timestamps;
+
+    private final AtomicLong head = new AtomicLong(); // posisi baca (milik Game Loop)
+    private final AtomicLong tail = new AtomicLong(); // posisi tulis (milik EDT)
+
+    // --- Slot gerak (nilai terakhir) ---
+    private volatile int movement = 0;                       // bit (1 << MOVE_*) = tombol ditekan (milik EDT)
+    private final AtomicLong movementSince = new AtomicLong(); // waktu perubahan pertama yang belum diterapkan, 0 = tidak ada
+    private int appliedMovement = 0;                         // bitmask yang sudah diteruskan ke handler (milik Game Loop)
+
+    // --- Metrik ---
+    // dropped ditulis EDT, sisanya hanya ditulis Game Loop. Reset diminta lewat flag dan
+    // dijalankan oleh Game Loop, agar tidak berebut tulis dengan drain().
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long processed = 0;
+    private volatile long totalLatencyNanos = 0;
+    private volatile long maxLatencyNanos = 0;
+    private volatile boolean resetRequested = false;
+
+    /**
+     * @param capacity Kapasitas antrian, dibulatkan ke pangkat dua terdekat.
+     */
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.types = new int[size];
+        this.argsA = new int[size];
+        this.argsB = new int[size];
+        this.timestamps = new long[size];
+    }
+
+    /**
+     * Mencatat status satu tombol gerak (hanya dari thread produsen/EDT). Tidak pernah dibuang.
+     *
+     * @param direction Salah satu MOVE_*.
+     */
+    void setMovement(int direction, boolean held) {
+        int bit = 1 << direction;
+        movement = held ? (movement | bit) : (movement & ~bit);
+        movementSince.compareAndSet(0, System.nanoTime()); // Ditulis setelah movement (lihat drain)
+    }
+
+    /**
+     * Menambahkan perintah tembak ke ring (hanya dari thread produsen/EDT).
+     *
+     * @return false jika antrian penuh dan perintah dibuang.
+     */
+    boolean offer(int type, int a, int b) {
+        long t = tail.get();
+        if (t - head.get() >= capacity) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        int slot = (int) (t & mask);
+        types[slot] = type;
+        argsA[slot] = a;
+        argsB[slot] = b;
+        timestamps[slot] = System.nanoTime();
+        tail.lazySet(t + 1); // Terbitkan slot setelah seluruh isinya ditulis
+        return true;
+    }
+
+    /**
+     * Menguras semua perintah yang tersedia (hanya dari thread konsumen/Game Loop).
+     *
+     * @return Jumlah perintah yang diproses.
+     */
+    int drain(Handler handler) {
+        if (resetRequested) {
+            processed = 0;
+            totalLatencyNanos = 0;
+            maxLatencyNanos = 0;
+            dropped.set(0);
+            resetRequested = false;
+        }
+
+        // Gerak dulu: stempel diambil sebelum bitmask dibaca, jadi perubahan yang stempelnya
+        // sudah terambil pasti ikut terbaca di sini
+        long since = movementSince.getAndSet(0);
+        long h = head.get();
+        long t = tail.get();
+        if (since == 0 && h == t) return 0;
+
+        long now = System.nanoTime();
+        long latencySum = 0;
+        long latencyMax = maxLatencyNanos;
+        int count = 0;
+        if (since != 0) {
+            int current = movement;
+            int changed = current ^ appliedMovement;
+            for (int direction = MOVE_LEFT; direction <= MOVE_DOWN; direction++) {
+                if ((changed & (1 << direction)) != 0) {
+                    handler.handle(direction, (current >> direction) & 1, 0);
+                }
+            }
+            appliedMovement = current;
+            long latency = now - since;
+            latencySum += latency;
+            if (latency > latencyMax) latencyMax = latency;
+            count++;
+        }
+        while (h < t) {
+            int slot = (int) (h & mask);
+            handler.handle(types[slot], argsA[slot], argsB[slot]);
+            long latency = now - timestamps[slot];
+            latencySum += latency;
+            if (latency > latencyMax) latencyMax = latency;
+            h++;
+            count++;
+        }
+        head.lazySet(h); // Kembalikan slot ke produsen
+
+        processed += count;
+        totalLatencyNanos += latencySum;
+        maxLatencyNanos = latencyMax;
+        return count;
+    }
+
+    // --- Metrik Latensi Input ---
+
+    // Selama reset belum dijalankan Game Loop, metrik dilaporkan sebagai 0
+
+    public long getProcessedCount() { return resetRequested ? 0 : processed; }
+    public long getDroppedCount() { return resetRequested ? 0 : dropped.get(); }
+    public long getMaxLatencyNanos() { return resetRequested ? 0 : maxLatencyNanos; }
+
+    public double getAverageLatencyMillis() {
+        long count = getProcessedCount();
+        return count == 0 ? 0.0 : (totalLatencyNanos / (double) count) / 1_000_000.0;
+    }
+
+    /**
+     * Meminta metrik dinolkan (boleh dari thread mana saja). Dijalankan oleh Game Loop
+     * di awal drain() berikutnya.
+     */
+    public void resetMetrics() {
+        resetRequested = true;
+    }
+}
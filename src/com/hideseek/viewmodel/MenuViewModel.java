@@ -1,9 +1,14 @@
 package com.hideseek.viewmodel;
 
+import com.hideseek.model.SaveQueue;
 import com.hideseek.model.UserRepository;
 import com.hideseek.model.UserStats;
 import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * ViewModel untuk Menu Utama.
@@ -16,9 +21,21 @@ public class MenuViewModel {
 
     // Menggunakan Repository untuk mengakses data, bukan akses DB langsung.
     private UserRepository userRepo;
+    // Simpanan yang mungkin belum sampai ke DB (Game Over barusan); datanya lebih baru dari isi DB
+    private SaveQueue saveQueue;
+    // Thread latar untuk akses penyimpanan yang dipicu dari UI (dibuat saat pertama dipakai)
+    private ExecutorService loader;
 
     public MenuViewModel() {
-        this.userRepo = new UserRepository();
+        this(UserRepository.create(), SaveQueue.shared());
+    }
+
+    /**
+     * Konstruktor dengan penyimpanan pilihan (misal: repository tiruan untuk pengujian).
+     */
+    public MenuViewModel(UserRepository userRepo, SaveQueue saveQueue) {
+        this.userRepo = userRepo;
+        this.saveQueue = saveQueue;
     }
 
     /**
@@ -36,8 +53,13 @@ public class MenuViewModel {
         model.addColumn("Peluru Meleset");
         model.addColumn("Sisa Peluru Terakhir");
 
-        // Meminta data mentah dari Model (Repository)
-        List<UserStats> users = userRepo.getAllUsers();
+        // Meminta data mentah dari Model (Repository), lalu timpa dengan simpanan yang belum
+        // sampai ke DB dan urutkan ulang berdasarkan skor
+        List<UserStats> users = new ArrayList<>();
+        for (UserStats stored : userRepo.getAllUsers()) {
+            users.add(latest(stored));
+        }
+        users.sort((a, b) -> Integer.compare(b.getSkor(), a.getSkor()));
 
         // Mengonversi data objek menjadi baris-baris tabel
         for (UserStats u : users) {
@@ -57,10 +79,50 @@ public class MenuViewModel {
     // Metode-metode di bawah ini meneruskan permintaan dari View ke Repository.
 
     public UserStats getUserStats(String username) {
-        return userRepo.getUserByUsername(username);
+        return latest(userRepo.getUserByUsername(username));
     }
 
     public void registerUser(String username) {
         userRepo.registerUser(username);
     }
+
+    /**
+     * Versi asinkron dari {@link #registerOrLoad(String)}: dijalankan di thread latar agar EDT
+     * tidak menunggu database. Permintaan dijalankan berurutan (satu thread).
+     */
+    public CompletableFuture<UserStats> registerOrLoadAsync(String username) {
+        return CompletableFuture.supplyAsync(() -> registerOrLoad(username), loader());
+    }
+
+    private synchronized ExecutorService loader() {
+        if (loader == null) {
+            loader = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "menu-loader");
+                thread.setDaemon(true); // Tidak menahan JVM saat aplikasi ditutup
+                return thread;
+            });
+        }
+        return loader;
+    }
+
+    /**
+     * Mendaftarkan pemain (jika baru) sekaligus mengambil stats-nya (pemain lama cukup satu round trip).
+     * Dipakai saat tombol START ditekan, menggantikan registerUser + getUserStats.
+     *
+     * @return Stats awal sesi, atau null jika stats pemain tidak diketahui (DB tidak bisa dihubungi
+     *         dan tidak ada simpanan tertunda untuknya). Sesi tanpa stats awal tidak boleh disimpan.
+     */
+    public UserStats registerOrLoad(String username) {
+        // Simpanan tertunda selalu lebih baru dari isi DB, jadi tetap sah walau DB sedang mati
+        UserStats unsaved = saveQueue.getUnsaved(username);
+        UserStats stored = userRepo.registerOrLoad(username);
+        if (unsaved != null) return unsaved;
+        return stored;
+    }
+
+    // Mengganti data dari DB dengan simpanan yang masih di antrian (jika ada)
+    private UserStats latest(UserStats stored) {
+        UserStats unsaved = saveQueue.getUnsaved(stored.getUsername());
+        return unsaved != null ? unsaved : stored;
+    }
 }
\ No newline at end of file
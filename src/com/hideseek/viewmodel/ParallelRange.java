@@ -0,0 +1,55 @@
+package com.hideseek.viewmodel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pembagi kerja Fork-Join untuk rentang indeks entitas.
+ *
+ * Rentang [from, to) dibelah dua terus-menerus sampai cukup kecil (grain), lalu setiap
+ * potongan dikerjakan oleh thread yang berbeda di ForkJoinPool. Dipakai GameViewModel
+ * untuk fase gerak + deteksi tabrakan saat jumlah peluru/alien sangat besar.
+ */
+class ParallelRange extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Pekerjaan untuk satu potongan rentang. Hanya boleh membaca data bersama
+     * dan menulis ke slot miliknya sendiri.
+     */
+    interface Body {
+        void run(int from, int to);
+    }
+
+    private final Body body;
+    private final int from;
+    private final int to;
+    private final int grain;
+
+    private ParallelRange(Body body, int from, int to, int grain) {
+        this.body = body;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+    }
+
+    /**
+     * Menjalankan body untuk seluruh rentang [0, size) dan menunggu sampai selesai.
+     */
+    static void run(ForkJoinPool pool, int size, int grain, Body body) {
+        if (size <= 0) return;
+        pool.invoke(new ParallelRange(body, 0, size, Math.max(1, grain)));
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            body.run(from, to);
+        } else {
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParallelRange(body, from, mid, grain),
+                    new ParallelRange(body, mid, to, grain));
+        }
+    }
+}
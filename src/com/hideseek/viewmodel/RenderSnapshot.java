@@ -0,0 +1,180 @@
+package com.hideseek.viewmodel;
+
+import java.awt.Image;
+import java.util.Arrays;
+
+/**
+ * Potret (Snapshot) Dunia Permainan untuk Rendering.
+ *
+ * View tidak lagi membaca daftar Alien/Peluru milik Game Loop secara langsung (yang bisa
+ * berubah di tengah penggambaran dan memicu ConcurrentModificationException). Sebagai
+ * gantinya, setiap frame Game Loop menyalin data yang perlu digambar ke objek ini,
+ * lalu menyerahkannya lewat {@link SnapshotBuffer}.
+ *
+ * Semua array dialokasikan sekali dan hanya membesar jika kapasitasnya kurang, sehingga
+ * pengisian ulang setiap frame tidak membuat objek baru. Posisi yang dikembalikan getter
+ * sudah diinterpolasi antara tick sebelumnya dan tick terakhir.
+ */
+public class RenderSnapshot {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double interpolation = 1.0;
+    private long tick;
+    private int obstacleVersion; // Berubah setiap kali ada batu kena tembak/hancur/muncul
+
+    // --- Player & HUD ---
+    private int playerX, playerY, playerPrevX, playerPrevY, playerWidth, playerHeight;
+    private Image playerImage;
+    private int score, ammo, ammoMissed;
+
+    // --- Alien ---
+    private int alienCount;
+    private int[] alienX = new int[INITIAL_CAPACITY];
+    private int[] alienY = new int[INITIAL_CAPACITY];
+    private int[] alienPrevX = new int[INITIAL_CAPACITY];
+    private int[] alienPrevY = new int[INITIAL_CAPACITY];
+    private int[] alienWidth = new int[INITIAL_CAPACITY];
+    private int[] alienHeight = new int[INITIAL_CAPACITY];
+    private Image[] alienImage = new Image[INITIAL_CAPACITY];
+
+    // --- Peluru ---
+    private int bulletCount;
+    private int[] bulletX = new int[INITIAL_CAPACITY];
+    private int[] bulletY = new int[INITIAL_CAPACITY];
+    private int[] bulletPrevX = new int[INITIAL_CAPACITY];
+    private int[] bulletPrevY = new int[INITIAL_CAPACITY];
+    private boolean[] bulletEnemy = new boolean[INITIAL_CAPACITY];
+
+    // --- Batu ---
+    private int obstacleCount;
+    private int[] obstacleX = new int[INITIAL_CAPACITY];
+    private int[] obstacleY = new int[INITIAL_CAPACITY];
+    private int[] obstacleWidth = new int[INITIAL_CAPACITY];
+    private int[] obstacleHeight = new int[INITIAL_CAPACITY];
+    private int[] obstacleHp = new int[INITIAL_CAPACITY];
+    private Image[] obstacleImage = new Image[INITIAL_CAPACITY];
+
+    // ===================== Penulisan (hanya dari thread Game Loop) =====================
+
+    void begin(long tick, double interpolation, int obstacleVersion) {
+        this.tick = tick;
+        this.interpolation = interpolation;
+        this.obstacleVersion = obstacleVersion;
+        this.alienCount = 0;
+        this.bulletCount = 0;
+        this.obstacleCount = 0;
+    }
+
+    void setPlayer(int x, int y, int prevX, int prevY, int width, int height, Image image,
+                   int score, int ammo, int ammoMissed) {
+        this.playerX = x;
+        this.playerY = y;
+        this.playerPrevX = prevX;
+        this.playerPrevY = prevY;
+        this.playerWidth = width;
+        this.playerHeight = height;
+        this.playerImage = image;
+        this.score = score;
+        this.ammo = ammo;
+        this.ammoMissed = ammoMissed;
+    }
+
+    void addAlien(int x, int y, int prevX, int prevY, int width, int height, Image image) {
+        if (alienCount == alienX.length) {
+            int capacity = alienCount * 2;
+            alienX = Arrays.copyOf(alienX, capacity);
+            alienY = Arrays.copyOf(alienY, capacity);
+            alienPrevX = Arrays.copyOf(alienPrevX, capacity);
+            alienPrevY = Arrays.copyOf(alienPrevY, capacity);
+            alienWidth = Arrays.copyOf(alienWidth, capacity);
+            alienHeight = Arrays.copyOf(alienHeight, capacity);
+            alienImage = Arrays.copyOf(alienImage, capacity);
+        }
+        int i = alienCount++;
+        alienX[i] = x;
+        alienY[i] = y;
+        alienPrevX[i] = prevX;
+        alienPrevY[i] = prevY;
+        alienWidth[i] = width;
+        alienHeight[i] = height;
+        alienImage[i] = image;
+    }
+
+    void addBullet(int x, int y, int prevX, int prevY, boolean enemy) {
+        if (bulletCount == bulletX.length) {
+            int capacity = bulletCount * 2;
+            bulletX = Arrays.copyOf(bulletX, capacity);
+            bulletY = Arrays.copyOf(bulletY, capacity);
+            bulletPrevX = Arrays.copyOf(bulletPrevX, capacity);
+            bulletPrevY = Arrays.copyOf(bulletPrevY, capacity);
+            bulletEnemy = Arrays.copyOf(bulletEnemy, capacity);
+        }
+        int i = bulletCount++;
+        bulletX[i] = x;
+        bulletY[i] = y;
+        bulletPrevX[i] = prevX;
+        bulletPrevY[i] = prevY;
+        bulletEnemy[i] = enemy;
+    }
+
+    void addObstacle(int x, int y, int width, int height, int hp, Image image) {
+        if (obstacleCount == obstacleX.length) {
+            int capacity = obstacleCount * 2;
+            obstacleX = Arrays.copyOf(obstacleX, capacity);
+            obstacleY = Arrays.copyOf(obstacleY, capacity);
+            obstacleWidth = Arrays.copyOf(obstacleWidth, capacity);
+            obstacleHeight = Arrays.copyOf(obstacleHeight, capacity);
+            obstacleHp = Arrays.copyOf(obstacleHp, capacity);
+            obstacleImage = Arrays.copyOf(obstacleImage, capacity);
+        }
+        int i = obstacleCount++;
+        obstacleX[i] = x;
+        obstacleY[i] = y;
+        obstacleWidth[i] = width;
+        obstacleHeight[i] = height;
+        obstacleHp[i] = hp;
+        obstacleImage[i] = image;
+    }
+
+    // ===================== Pembacaan (dari thread Render/EDT) =====================
+
+    public double getInterpolation() { return interpolation; }
+    public long getTick() { return tick; }
+    public int getObstacleVersion() { return obstacleVersion; }
+
+    public int getPlayerX() { return lerp(playerPrevX, playerX); }
+    public int getPlayerY() { return lerp(playerPrevY, playerY); }
+    public int getPlayerWidth() { return playerWidth; }
+    public int getPlayerHeight() { return playerHeight; }
+    public Image getPlayerImage() { return playerImage; }
+
+    public int getScore() { return score; }
+    public int getAmmo() { return ammo; }
+    public int getAmmoMissed() { return ammoMissed; }
+
+    public int getAlienCount() { return alienCount; }
+    public int getAlienX(int i) { return lerp(alienPrevX[i], alienX[i]); }
+    public int getAlienY(int i) { return lerp(alienPrevY[i], alienY[i]); }
+    public int getAlienWidth(int i) { return alienWidth[i]; }
+    public int getAlienHeight(int i) { return alienHeight[i]; }
+    public Image getAlienImage(int i) { return alienImage[i]; }
+
+    public int getBulletCount() { return bulletCount; }
+    public int getBulletX(int i) { return lerp(bulletPrevX[i], bulletX[i]); }
+    public int getBulletY(int i) { return lerp(bulletPrevY[i], bulletY[i]); }
+    public boolean isEnemyBullet(int i) { return bulletEnemy[i]; }
+
+    public int getObstacleCount() { return obstacleCount; }
+    public int getObstacleX(int i) { return obstacleX[i]; }
+    public int getObstacleY(int i) { return obstacleY[i]; }
+    public int getObstacleWidth(int i) { return obstacleWidth[i]; }
+    public int getObstacleHeight(int i) { return obstacleHeight[i]; }
+    public int getObstacleHp(int i) { return obstacleHp[i]; }
+    public Image getObstacleImage(int i) { return obstacleImage[i]; }
+
+    // Interpolasi linier antara posisi tick sebelumnya dan tick terakhir
+    private int lerp(int previous, int current) {
+        return (int) Math.round(previous + (current - previous) * interpolation);
+    }
+}
@@ -0,0 +1,62 @@
+package com.hideseek.viewmodel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple Buffer tanpa kunci (Lock-Free) untuk RenderSnapshot.
+ *
+ * Ada tiga snapshot yang dipakai bergiliran:
+ * - "back"   : sedang diisi oleh thread Game Loop (penulis tunggal).
+ * - "middle" : snapshot terbaru yang sudah selesai dan siap diambil.
+ * - "front"  : sedang digambar oleh thread Render/EDT (pembaca tunggal).
+ *
+ * Pertukaran back<->middle dan middle<->front dilakukan dengan satu operasi atomik
+ * (getAndSet), sehingga penulis tidak pernah menunggu pembaca dan pembaca tidak pernah
+ * melihat snapshot yang setengah jadi. Ketiga snapshot terus dipakai ulang.
+ */
+public class SnapshotBuffer {
+
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100; // Penanda: middle berisi snapshot baru
+
+    private final RenderSnapshot[] buffers = {
+            new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()
+    };
+
+    // Indeks middle + bit FRESH, dibagi antara penulis dan pembaca
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    private int back = 0;   // hanya disentuh penulis
+    private int front = 2;  // hanya disentuh pembaca
+    private boolean hasPublished = false;
+
+    /**
+     * Snapshot yang boleh diisi penulis saat ini.
+     */
+    RenderSnapshot getBackBuffer() {
+        return buffers[back];
+    }
+
+    /**
+     * Menyerahkan back buffer yang sudah terisi sebagai snapshot terbaru.
+     */
+    void publish() {
+        int previous = middle.getAndSet(back | FRESH);
+        back = previous & INDEX_MASK;
+    }
+
+    /**
+     * Mengambil snapshot terbaru untuk digambar. Jika belum ada yang baru,
+     * snapshot terakhir yang sama dikembalikan lagi.
+     *
+     * @return Snapshot untuk digambar, atau null jika Game Loop belum pernah mempublikasikan apa pun.
+     */
+    public RenderSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            int previous = middle.getAndSet(front);
+            front = previous & INDEX_MASK;
+            hasPublished = true;
+        }
+        return hasPublished ? buffers[front] : null;
+    }
+}
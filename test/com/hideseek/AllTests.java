@@ -0,0 +1,27 @@
+package com.hideseek;
+
+import com.hideseek.model.LogUserRepositoryTest;
+import com.hideseek.model.SaveQueueJournalTest;
+import com.hideseek.viewmodel.GameViewModelAllocationTest;
+import com.hideseek.viewmodel.InputQueueTest;
+import com.hideseek.viewmodel.ParallelUpdateTest;
+import com.hideseek.viewmodel.MenuViewModelTest;
+
+/**
+ * Menjalankan semua pengujian (tanpa framework: setiap kelas uji punya main sendiri
+ * dan melempar AssertionError jika gagal).
+ *
+ * Contoh: java -cp out-test:lib/* com.hideseek.AllTests
+ */
+public class AllTests {
+
+    public static void main(String[] args) throws Exception {
+        SaveQueueJournalTest.main(args);
+        LogUserRepositoryTest.main(args);
+        MenuViewModelTest.main(args);
+        GameViewModelAllocationTest.main(args);
+        InputQueueTest.main(args);
+        ParallelUpdateTest.main(args);
+        System.out.println("Semua pengujian lulus.");
+    }
+}
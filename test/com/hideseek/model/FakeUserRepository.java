@@ -0,0 +1,79 @@
+package com.hideseek.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pengganti database untuk pengujian: data disimpan di memori, dan "server"-nya bisa dimatikan.
+ * Saat mati, perilakunya meniru MySqlUserRepository ketika koneksi gagal.
+ */
+public class FakeUserRepository implements UserRepository {
+
+    private final Map<String, UserStats> rows = new LinkedHashMap<>();
+    private volatile boolean available;
+    private int batches = 0;
+
+    public FakeUserRepository(boolean available) {
+        this.available = available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    // Isi "tabel" apa adanya (tanpa memperhatikan status server)
+    public synchronized UserStats getRow(String username) {
+        return rows.get(username);
+    }
+
+    public synchronized void putRow(UserStats stats) {
+        rows.put(stats.getUsername(), stats);
+    }
+
+    public synchronized int getBatchCount() {
+        return batches;
+    }
+
+    @Override
+    public synchronized List<UserStats> getAllUsers() {
+        return available ? new ArrayList<>(rows.values()) : new ArrayList<>();
+    }
+
+    @Override
+    public synchronized UserStats getUserByUsername(String username) {
+        UserStats stats = available ? rows.get(username) : null;
+        return stats != null ? stats : new UserStats(username, 0, 0, 0);
+    }
+
+    @Override
+    public synchronized void registerUser(String username) {
+        if (available && !rows.containsKey(username)) {
+            rows.put(username, new UserStats(username, 0, 0, 0));
+        }
+    }
+
+    @Override
+    public synchronized UserStats registerOrLoad(String username) {
+        if (!available) return null;
+        registerUser(username);
+        return rows.get(username);
+    }
+
+    @Override
+    public synchronized boolean updateUserStatsBatch(List<UserStats> batch) {
+        if (!available) return false;
+        for (UserStats stats : batch) {
+            rows.put(stats.getUsername(), stats);
+        }
+        batches++;
+        return true;
+    }
+
+    @Override
+    public void updateUserStats(String username, int score, int missed, int ammo) {
+        updateUserStatsBatch(Collections.singletonList(new UserStats(username, score, missed, ammo)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.hideseek.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+/**
+ * Uji compaction penyimpanan lokal: jika penggantian file gagal (misal: Windows menolak mengganti
+ * file yang masih dipetakan), compaction tidak boleh mati selamanya. Simpanan berikutnya tetap
+ * aman, dan compaction dicoba lagi setelah cukup banyak record mati baru terkumpul.
+ */
+public class LogUserRepositoryTest {
+
+    // Sama dengan LogUserRepository.COMPACT_MIN_DEAD_RECORDS
+    private static final int MIN_DEAD = 1024;
+
+    public static void main(String[] args) throws Exception {
+        failedCompactionIsRetried();
+        System.out.println("LogUserRepositoryTest: OK");
+    }
+
+    static void failedCompactionIsRetried() throws Exception {
+        Path file = tempStorage();
+        FailingMoveRepository repository = new FailingMoveRepository(file);
+        repository.failuresLeft = 1;
+
+        // Satu pemain disimpan berulang: setiap simpanan membuat record lama menjadi mati
+        int saves = 0;
+        while (repository.moveAttempts == 0) {
+            save(repository, ++saves);
+            check(saves <= MIN_DEAD + 1, "compaction harus dicoba setelah " + MIN_DEAD + " record mati");
+        }
+        check(repository.getCompactionCount() == 0, "compaction yang gagal tidak boleh tercatat");
+        check(repository.getDeadRecordCount() == MIN_DEAD, "record mati harus tetap ada setelah gagal");
+        check(repository.getUserByUsername("budi").getSkor() == saves, "simpanan terakhir harus terbaca");
+
+        // Tidak dicoba ulang di setiap simpanan (menulis ulang seluruh file itu mahal)...
+        for (int i = 0; i < MIN_DEAD - 1; i++) {
+            save(repository, ++saves);
+        }
+        check(repository.moveAttempts == 1, "compaction tidak boleh diulang sebelum record mati bertambah "
+                + MIN_DEAD + ", sudah dicoba " + repository.moveAttempts + " kali");
+
+        // ...tetapi tetap dicoba lagi, dan kali ini berhasil
+        save(repository, ++saves);
+        check(repository.moveAttempts == 2, "compaction harus dicoba lagi");
+        check(repository.getCompactionCount() == 1, "compaction kedua harus berhasil");
+        check(repository.getDeadRecordCount() == 0 && repository.getLiveRecordCount() == 1,
+                "setelah compaction hanya record hidup yang tersisa");
+        check(repository.getUserByUsername("budi").getSkor() == saves, "simpanan terakhir harus terbaca");
+
+        // Simpanan setelahnya memakai batas normal lagi
+        for (int i = 0; i < MIN_DEAD + 1; i++) {
+            save(repository, ++saves);
+        }
+        check(repository.getCompactionCount() == 2, "batas compaction harus kembali normal setelah berhasil");
+
+        LogUserRepository reopened = new LogUserRepository(file);
+        check(reopened.getUserByUsername("budi").getSkor() == saves, "data harus utuh setelah file dibuka ulang");
+    }
+
+    private static void save(LogUserRepository repository, int score) {
+        check(repository.updateUserStatsBatch(Collections.singletonList(new UserStats("budi", score, 0, 0))),
+                "simpanan ke-" + score + " harus berhasil");
+    }
+
+    // Menggagalkan penggantian file sebanyak failuresLeft kali
+    private static class FailingMoveRepository extends LogUserRepository {
+        int failuresLeft;
+        int moveAttempts;
+
+        FailingMoveRepository(Path file) throws IOException {
+            super(file);
+        }
+
+        @Override
+        void replaceFile(Path temp) throws IOException {
+            moveAttempts++;
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IOException("file sedang dipakai proses lain (simulasi)");
+            }
+            super.replaceFile(temp);
+        }
+    }
+
+    private static Path tempStorage() throws IOException {
+        Path dir = Files.createTempDirectory("hideseek-storage-test");
+        dir.toFile().deleteOnExit();
+        return dir.resolve("users.log");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hideseek.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Uji jurnal simpan: progres yang disimpan saat database mati tidak boleh hilang.
+ *
+ * Skenario: antrian pertama menulis ke database yang mati lalu "crash" (ditinggalkan tanpa
+ * terkirim). Antrian kedua dibuat dengan jurnal yang sama dan database yang hidup; isi jurnal
+ * harus terkirim semua, dengan nilai TERBARU setiap pemain.
+ */
+public class SaveQueueJournalTest {
+
+    public static void main(String[] args) throws Exception {
+        progressSurvivesStoppedDatabase();
+        tornTailIsDiscarded();
+        System.out.println("SaveQueueJournalTest: OK");
+    }
+
+    static void progressSurvivesStoppedDatabase() throws Exception {
+        Path file = tempJournal();
+
+        FakeUserRepository stopped = new FakeUserRepository(false);
+        SaveQueue crashed = new SaveQueue(stopped, new SaveJournal(file), 4, 32, 10);
+        for (int round = 1; round <= 20; round++) {
+            for (int u = 0; u < 6; u++) {
+                crashed.submit("user" + u, round * 10 + u, round, 100 - round); // Tidak boleh memblokir
+            }
+        }
+        check(!crashed.flush(300), "flush harus gagal selama database mati");
+        check(crashed.getWrittenCount() == 0, "tidak ada yang boleh tercatat terkirim");
+        check(Files.size(file) > 0, "jurnal harus berisi progres yang belum terkirim");
+        // Antrian pertama ditinggalkan begitu saja (seperti proses yang crash)
+
+        FakeUserRepository restarted = new FakeUserRepository(true);
+        restarted.putRow(new UserStats("user0", 5, 5, 5)); // Data lama di DB akan digantikan
+        SaveQueue recovered = new SaveQueue(restarted, new SaveJournal(file), 4, 4, 10);
+        check(recovered.getReplayedCount() == 6, "6 pemain harus dibaca ulang dari jurnal, bukan "
+                + recovered.getReplayedCount());
+        check(recovered.flush(5_000), "isi jurnal harus terkirim setelah database hidup");
+
+        for (int u = 0; u < 6; u++) {
+            UserStats row = restarted.getRow("user" + u);
+            check(row != null, "user" + u + " hilang");
+            check(row.getSkor() == 200 + u && row.getPeluruMeleset() == 20 && row.getSisaPeluru() == 80,
+                    "user" + u + " harus berisi simpanan terakhir");
+        }
+        check(restarted.getBatchCount() == 2, "6 pemain dengan maxBatch 4 = 2 batch, bukan "
+                + restarted.getBatchCount());
+        check(Files.size(file) == 0, "jurnal harus dikosongkan setelah semua terkirim");
+        recovered.shutdown(1_000);
+    }
+
+    static void tornTailIsDiscarded() throws Exception {
+        Path file = tempJournal();
+        SaveJournal journal = new SaveJournal(file);
+        journal.append(new UserStats("budi", 30, 1, 9));
+        journal.append(new UserStats("budi", 40, 2, 8));
+        journal.sync();
+        journal.close();
+        long intact = Files.size(file);
+
+        // Crash di tengah penulisan record berikutnya: hanya sebagian header yang sampai ke disk
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 20, 7}));
+        }
+
+        SaveJournal reopened = new SaveJournal(file);
+        check(reopened.replay().get("budi").getSkor() == 40, "record utuh terakhir yang harus dibaca");
+        check(Files.size(file) == intact, "ekor yang terpotong harus dibuang");
+        reopened.close();
+
+        FakeUserRepository database = new FakeUserRepository(true);
+        SaveQueue queue = new SaveQueue(database, new SaveJournal(file), 4, 4, 10);
+        check(queue.flush(5_000), "record utuh harus terkirim");
+        UserStats row = database.getRow("budi");
+        check(row != null && row.getSkor() == 40, "record utuh terakhir yang harus dipakai");
+        queue.shutdown(1_000);
+    }
+
+    private static Path tempJournal() throws IOException {
+        Path dir = Files.createTempDirectory("hideseek-journal-test");
+        dir.toFile().deleteOnExit();
+        return dir.resolve("save-journal.log");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
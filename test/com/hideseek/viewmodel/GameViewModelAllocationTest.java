@@ -0,0 +1,80 @@
+package com.hideseek.viewmodel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Uji alokasi Game Loop: setelah pemanasan, tick simulasi yang stabil tidak boleh membuat objek
+ * baru (tabrakan memakai AABB primitif, loop berbasis indeks, peluru dari pool, grid dipakai ulang).
+ *
+ * Diukur dengan ThreadMXBean.getThreadAllocatedBytes milik thread ini, per tick, pada banyak sesi
+ * headless. Tick yang memang membuat objek (alien/batu baru muncul, atau pool peluru kosong)
+ * tidak dihitung sebagai tick stabil.
+ */
+public class GameViewModelAllocationTest {
+
+    private static final int WARMUP_SESSIONS = 200;
+    private static final int MEASURED_SESSIONS = 300;
+    private static final int MIN_STEADY_TICKS = 20_000;
+    // Sisa toleransi untuk kejadian langka yang tidak terlihat dari luar (misal: batu hancur lalu
+    // langsung diganti pada tick yang sama, jumlahnya tetap tapi objeknya baru)
+    private static final double MAX_BYTES_PER_TICK = 1.0;
+
+    public static void main(String[] args) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            System.out.println("GameViewModelAllocationTest: dilewati (JVM tidak mendukung pengukuran alokasi)");
+            return;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        steadyTickDoesNotAllocate(threads, false);
+        steadyTickDoesNotAllocate(threads, true);
+        System.out.println("GameViewModelAllocationTest: OK");
+    }
+
+    static void steadyTickDoesNotAllocate(com.sun.management.ThreadMXBean threads, boolean packedEntities) {
+        String store = packedEntities ? "packed" : "objek";
+        runSessions(threads, packedEntities, 1, WARMUP_SESSIONS, new long[2]); // JIT & kelas siap
+
+        long[] result = new long[2]; // {tick stabil, byte}
+        runSessions(threads, packedEntities, WARMUP_SESSIONS + 1, MEASURED_SESSIONS, result);
+        double perTick = (double) result[1] / result[0];
+
+        check(result[0] >= MIN_STEADY_TICKS, store + ": terlalu sedikit tick stabil (" + result[0] + ")");
+        check(perTick <= MAX_BYTES_PER_TICK, store + ": tick stabil masih mengalokasi "
+                + result[1] + " byte dalam " + result[0] + " tick");
+    }
+
+    // Menjalankan sesi headless sampai Game Over dan menjumlahkan alokasi tick-tick yang stabil
+    private static void runSessions(com.sun.management.ThreadMXBean threads, boolean packedEntities,
+                                    long firstSeed, int sessions, long[] result) {
+        for (long seed = firstSeed; seed < firstSeed + sessions; seed++) {
+            GameViewModel game = GameViewModel.createHeadless(seed, packedEntities);
+            while (true) {
+                int aliens = game.getAliens().size();
+                int obstacles = game.getObstacles().size();
+                long misses = game.getBulletPool().getMisses();
+
+                long before = threads.getCurrentThreadAllocatedBytes();
+                int executed = game.step(1);
+                long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+                if (executed == 0) break; // Game Over
+
+                boolean spawned = game.getAliens().size() > aliens
+                        || game.getObstacles().size() > obstacles
+                        || game.getBulletPool().getMisses() > misses;
+                if (!spawned) {
+                    result[0]++;
+                    result[1] += allocated;
+                }
+            }
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
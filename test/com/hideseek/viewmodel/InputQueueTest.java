@@ -0,0 +1,54 @@
+package com.hideseek.viewmodel;
+
+/**
+ * Uji antrian input: pelepasan tombol gerak tidak boleh hilang walau ring tembakan penuh,
+ * dan reset metrik dijalankan oleh thread Game Loop (drain), bukan langsung dari pemanggil.
+ */
+public class InputQueueTest {
+
+    public static void main(String[] args) {
+        keyReleaseSurvivesFullRing();
+        resetIsAppliedByConsumer();
+        System.out.println("InputQueueTest: OK");
+    }
+
+    static void keyReleaseSurvivesFullRing() {
+        InputQueue queue = new InputQueue(4);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(InputQueue.SHOOT, i, i); // 2 tembakan terakhir dibuang
+        }
+        queue.setMovement(InputQueue.MOVE_LEFT, true);
+        queue.setMovement(InputQueue.MOVE_UP, true);
+        queue.setMovement(InputQueue.MOVE_LEFT, false); // Dilepas sebelum tick berikutnya
+
+        boolean[] held = new boolean[4];
+        int[] shots = new int[1];
+        queue.drain((type, a, b) -> {
+            if (type == InputQueue.SHOOT) shots[0]++;
+            else held[type] = a != 0;
+        });
+        check(shots[0] == 4 && queue.getDroppedCount() == 2, "ring penuh: hanya tembakan yang dibuang");
+        check(!held[InputQueue.MOVE_LEFT] && held[InputQueue.MOVE_UP], "status gerak harus nilai terakhir");
+
+        queue.setMovement(InputQueue.MOVE_UP, false);
+        queue.drain((type, a, b) -> held[type] = a != 0);
+        check(!held[InputQueue.MOVE_UP], "pelepasan tombol harus sampai ke Game Loop");
+    }
+
+    static void resetIsAppliedByConsumer() {
+        InputQueue queue = new InputQueue(4);
+        queue.offer(InputQueue.SHOOT, 1, 1);
+        queue.drain((type, a, b) -> { });
+        check(queue.getProcessedCount() == 1, "satu perintah sudah diproses");
+
+        queue.resetMetrics();
+        check(queue.getProcessedCount() == 0, "metrik dilaporkan 0 selama reset tertunda");
+        queue.offer(InputQueue.SHOOT, 2, 2);
+        queue.drain((type, a, b) -> { });
+        check(queue.getProcessedCount() == 1, "reset dijalankan sebelum perintah baru dihitung");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
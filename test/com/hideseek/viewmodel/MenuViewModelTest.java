@@ -0,0 +1,56 @@
+package com.hideseek.viewmodel;
+
+import com.hideseek.model.FakeUserRepository;
+import com.hideseek.model.SaveQueue;
+import com.hideseek.model.UserStats;
+
+/**
+ * Uji stats awal sesi: jika database mati, stats awal harus dilaporkan "tidak diketahui" (null),
+ * bukan nol, agar sesi tersebut tidak menimpa progres asli saat disimpan.
+ */
+public class MenuViewModelTest {
+
+    public static void main(String[] args) {
+        unknownBaselineWhenDatabaseIsDown();
+        pendingSaveIsAValidBaseline();
+        storedStatsWhenDatabaseIsUp();
+        System.out.println("MenuViewModelTest: OK");
+    }
+
+    static void unknownBaselineWhenDatabaseIsDown() {
+        FakeUserRepository database = new FakeUserRepository(false);
+        SaveQueue queue = new SaveQueue(database, 4, 4, 10);
+        MenuViewModel menu = new MenuViewModel(database, queue);
+
+        check(menu.registerOrLoad("andi") == null, "DB mati tanpa simpanan tertunda: stats awal harus null");
+        queue.shutdown(0);
+    }
+
+    static void pendingSaveIsAValidBaseline() {
+        FakeUserRepository database = new FakeUserRepository(false);
+        SaveQueue queue = new SaveQueue(database, 4, 4, 10);
+        queue.submit("andi", 120, 3, 7); // Belum terkirim karena DB mati
+        MenuViewModel menu = new MenuViewModel(database, queue);
+
+        UserStats stats = menu.registerOrLoad("andi");
+        check(stats != null && stats.getSkor() == 120 && stats.getSisaPeluru() == 7,
+                "simpanan tertunda lebih baru dari DB dan harus dipakai");
+        queue.shutdown(0);
+    }
+
+    static void storedStatsWhenDatabaseIsUp() {
+        FakeUserRepository database = new FakeUserRepository(true);
+        database.putRow(new UserStats("andi", 50, 2, 4));
+        SaveQueue queue = new SaveQueue(database, 4, 4, 10);
+        MenuViewModel menu = new MenuViewModel(database, queue);
+
+        UserStats stats = menu.registerOrLoad("andi");
+        check(stats != null && stats.getSkor() == 50, "stats dari DB harus dipakai");
+        check(menu.registerOrLoad("baru").getSkor() == 0, "pemain baru mulai dari nol");
+        queue.shutdown(1_000);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hideseek.viewmodel;
+
+import com.hideseek.model.Alien;
+import com.hideseek.model.Bullet;
+
+import java.util.List;
+
+/**
+ * Uji fase update paralel (Fork-Join): untuk seed yang sama, hasil simulasi harus identik
+ * dengan jalur serial. Ambang paralel diturunkan ke 1 agar fase paralel selalu dipakai.
+ */
+public class ParallelUpdateTest {
+
+    private static final int SEEDS = 20;
+    private static final int TICKS = 5_000; // Lebih panjang dari sesi mana pun (berhenti saat Game Over)
+
+    private static int scoredSessions = 0;
+
+    public static void main(String[] args) {
+        for (long seed = 1; seed <= SEEDS; seed++) {
+            parallelMatchesSerial(seed, false);
+            parallelMatchesSerial(seed, true);
+        }
+        check(scoredSessions > 0, "tidak ada alien yang tertembak: jalur peluru vs alien tidak teruji");
+        System.out.println("ParallelUpdateTest: OK (" + scoredSessions + " sesi dengan alien tertembak)");
+    }
+
+    static void parallelMatchesSerial(long seed, boolean packedEntities) {
+        String name = "seed " + seed + (packedEntities ? " (packed)" : "");
+
+        GameViewModel serial = GameViewModel.createHeadless(seed, packedEntities);
+        serial.setParallelUpdate(false);
+        GameViewModel parallel = GameViewModel.createHeadless(seed, packedEntities);
+        parallel.setParallelUpdate(true);
+        parallel.setParallelThreshold(1);
+        serial.getPlayer().setAmmo(1_000); // Peluru awal 0; tanpa ini player tidak bisa menembak
+        parallel.getPlayer().setAmmo(1_000);
+
+        // Dibandingkan setiap tick, agar perbedaan sementara pun ketahuan
+        for (int t = 0; t < TICKS; t++) {
+            scriptedInput(serial, t);
+            scriptedInput(parallel, t);
+            int a = serial.step(1);
+            int b = parallel.step(1);
+            check(a == b, name + ": jumlah tick berbeda pada tick " + t);
+            assertSameState(serial, parallel, name + " tick " + serial.getTickCount());
+            if (a == 0) break;
+        }
+        check(serial.isGameOver() && parallel.isGameOver(), name + ": sesi harus berakhir dalam " + TICKS + " tick");
+        scoredSessions += serial.getPlayer().getScore() > 0 ? 1 : 0;
+    }
+
+    // Input yang sama untuk kedua sesi: tembak alien pertama setiap 2 tick & gerak bolak-balik.
+    // Tembakan rapat membuat dua peluru kadang mengenai alien yang sama dalam satu tick, sehingga
+    // kandidat hasil fase paralel yang sudah basi juga ikut teruji.
+    private static void scriptedInput(GameViewModel game, int tick) {
+        if (tick % 2 == 0 && !game.getAliens().isEmpty()) {
+            Alien target = game.getAliens().get(0);
+            game.playerShoot(target.getX() + 20, target.getY() - 20);
+        }
+        if (tick % 40 == 0) game.setMoveLeft((tick / 40) % 2 == 0);
+        if (tick % 40 == 20) game.setMoveRight((tick / 40) % 2 == 1);
+    }
+
+    private static void assertSameState(GameViewModel serial, GameViewModel parallel, String where) {
+        check(serial.getTickCount() == parallel.getTickCount(), where + ": tickCount berbeda");
+        check(serial.isGameOver() == parallel.isGameOver(), where + ": status Game Over berbeda");
+        check(serial.getPlayer().getScore() == parallel.getPlayer().getScore(), where + ": skor berbeda");
+        check(serial.getPlayer().getAmmo() == parallel.getPlayer().getAmmo(), where + ": sisa peluru berbeda");
+        check(serial.getPlayer().getAmmoMissed() == parallel.getPlayer().getAmmoMissed(),
+                where + ": peluru meleset berbeda");
+
+        List<Alien> serialAliens = serial.getAliens(), parallelAliens = parallel.getAliens();
+        check(serialAliens.size() == parallelAliens.size(), where + ": jumlah alien berbeda");
+        for (int i = 0; i < serialAliens.size(); i++) {
+            Alien s = serialAliens.get(i), p = parallelAliens.get(i);
+            check(s.getX() == p.getX() && s.getY() == p.getY(), where + ": posisi alien " + i + " berbeda");
+        }
+
+        List<Bullet> serialBullets = serial.getBullets(), parallelBullets = parallel.getBullets();
+        check(serialBullets.size() == parallelBullets.size(), where + ": jumlah peluru berbeda");
+        for (int i = 0; i < serialBullets.size(); i++) {
+            Bullet s = serialBullets.get(i), p = parallelBullets.get(i);
+            check(s.getX() == p.getX() && s.getY() == p.getY() && s.isEnemyBullet() == p.isEnemyBullet(),
+                    where + ": peluru " + i + " berbeda");
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}